@@ -3,27 +3,36 @@ package org.mineacademy.fo;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 import javax.annotation.Nullable;
 
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.entity.Player;
+import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.scheduler.BukkitTask;
-import org.mineacademy.fo.model.SimpleRunnable;
+import org.mineacademy.fo.model.SimpleAnimation;
 import org.mineacademy.fo.model.SimpleScoreboard;
 import org.mineacademy.fo.plugin.SimplePlugin;
 import org.mineacademy.fo.remain.CompBarColor;
 import org.mineacademy.fo.remain.CompBarStyle;
 import org.mineacademy.fo.remain.Remain;
+import org.mineacademy.fo.slider.Slider;
 
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 
 /**
  * Utility class for creating text animations for BossBars, Scoreboards, HUD Titles and Inventories.
+ * <p>
+ * Animators run as {@link SimpleAnimation}s all advanced from one shared task,
+ * those shown to a player are cancelled automatically when the player leaves.
+ * <p>
+ * The returned tasks are not registered in the Bukkit scheduler, cancel them by
+ * calling {@link BukkitTask#cancel()} on them, never through their task id.
  *
  * @author parpar8090
  */
@@ -221,10 +230,10 @@ public class AnimationUtil {
 	 * @param animatedFrames The frames (in order) to be displayed in the BossBar.
 	 * @param delay          The delay between animation cycles.
 	 * @param period         The period (in ticks) to wait between showing the next frame.
-	 * @return The repeating BukkitTask (Useful to cancel on reload or shutdown).
+	 * @return The repeating BukkitTask, call its cancel() method to stop it on reload or shutdown.
 	 */
 	public static BukkitTask animateBossBar(Player player, List<String> animatedFrames, long delay, long period) {
-		return new SimpleRunnable() {
+		return new SimpleAnimation(player) {
 			int frame = 0;
 
 			@Override
@@ -236,7 +245,7 @@ public class AnimationUtil {
 				if (this.frame == animatedFrames.size())
 					this.frame = 0;
 			}
-		}.runTaskTimer(SimplePlugin.getInstance(), delay, period);
+		}.runTimer(delay, period);
 	}
 
 	/**
@@ -249,7 +258,7 @@ public class AnimationUtil {
 	 * @param period         The period before animating
 	 * @param animateOnce    Should the animation stop after all the frames have been cycled?
 	 * @param countdownBar   Leave this as null if you don't want it to act as a countdown.
-	 * @return BukkitTask of the animation
+	 * @return BukkitTask of the animation, call its cancel() method to stop it
 	 */
 	public static BukkitTask animateBossBar(Player player, List<String> animatedFrames, @Nullable List<CompBarColor> animatedColors, long delay, long period, boolean animateOnce, @Nullable CountdownBar countdownBar) {
 		int smoothnessLevel = 1;
@@ -259,7 +268,7 @@ public class AnimationUtil {
 
 		final int finalSmoothnessLevel = smoothnessLevel;
 
-		return new SimpleRunnable() {
+		return new SimpleAnimation(player) {
 			boolean run = true;
 			int frame = 0;
 			float health = 1F;
@@ -296,7 +305,7 @@ public class AnimationUtil {
 					}
 				}
 			}
-		}.runTaskTimer(SimplePlugin.getInstance(), delay, period / smoothnessLevel);
+		}.runTimer(delay, Math.max(1, period / smoothnessLevel));
 	}
 
 	/**
@@ -306,11 +315,11 @@ public class AnimationUtil {
 	 * @param animatedFrames The frames (in order) to be displayed in the BossBar.
 	 * @param delay          The delay (in tick) to wait between animation cycles.
 	 * @param period         The period (in ticks) to wait between showing the next frame.
-	 * @return The repeating BukkitTask (Useful to cancel on reload or shutdown).
+	 * @return The repeating BukkitTask, call its cancel() method to stop it on reload or shutdown.
 	 */
 
 	public static BukkitTask animateScoreboardTitle(SimpleScoreboard scoreboard, List<String> animatedFrames, long delay, long period) {
-		return new SimpleRunnable() {
+		return new SimpleAnimation() {
 			int frame = 0;
 
 			@Override
@@ -321,7 +330,7 @@ public class AnimationUtil {
 				if (this.frame == animatedFrames.size())
 					this.frame = 0;
 			}
-		}.runTaskTimer(SimplePlugin.getInstance(), delay, period);
+		}.runTimer(delay, period);
 	}
 
 	/**
@@ -331,10 +340,10 @@ public class AnimationUtil {
 	 * @param titleFrames    The frames (in order) to be displayed in the Title. (set to null to hide)
 	 * @param subtitleFrames The frames (in order) to be displayed in the SubTitle. (set to null to hide)
 	 * @param period         The period (in ticks) to wait between showing the next frame.
-	 * @return the task you can cancel after animation ended
+	 * @return the task you can stop with its cancel() method
 	 */
 	public static BukkitTask animateTitle(Player who, @Nullable List<String> titleFrames, @Nullable List<String> subtitleFrames, long period) {
-		return new SimpleRunnable() {
+		return new SimpleAnimation(who) {
 			int frame = 0;
 			String title = "", subtitle = "";
 
@@ -353,7 +362,7 @@ public class AnimationUtil {
 						subtitleFrames != null ? subtitleFrames.size() : 0) || SimplePlugin.isReloading())
 					this.cancel();
 			}
-		}.runTaskTimer(SimplePlugin.getInstance(), 0, period);
+		}.runTimer(0, period);
 	}
 
 	/**
@@ -363,10 +372,10 @@ public class AnimationUtil {
 	 * @param animatedFrames The frames (in order) to be displayed in the Title.
 	 * @param delay          The delay (in tick) to wait between animation cycles.
 	 * @param period         The period (in ticks) to wait between showing the next frame.
-	 * @return The repeating BukkitTask (Useful to cancel on reload or shutdown).
+	 * @return The repeating BukkitTask, call its cancel() method to stop it on reload or shutdown.
 	 */
 	public static BukkitTask animateItemTitle(ItemStack item, List<String> animatedFrames, long delay, long period) {
-		return new SimpleRunnable() {
+		return new SimpleAnimation() {
 			int frame = 0;
 
 			@Override
@@ -384,10 +393,10 @@ public class AnimationUtil {
 				item.setItemMeta(meta);
 
 				this.frame++;
-				if (this.frame > animatedFrames.size())
+				if (this.frame >= animatedFrames.size())
 					this.frame = 0;
 			}
-		}.runTaskTimer(SimplePlugin.getInstance(), delay, period);
+		}.runTimer(delay, period);
 	}
 
 	/**
@@ -396,13 +405,13 @@ public class AnimationUtil {
 	 * @param animatedFrames The frames (in order) to be displayed in the Title.
 	 * @param delay          The delay (in tick) to wait between animation cycles.
 	 * @param period         The period (in ticks) to wait between showing the next frame.
-	 * @return The repeating BukkitTask (Useful to cancel on reload or shutdown).
+	 * @return The repeating BukkitTask, call its cancel() method to stop it on reload or shutdown.
 	 * @throws IndexOutOfBoundsException if the line number is out of range
 	 *                                   ({@code line < 0 || line > lore.size()})
 	 */
 	public static BukkitTask animateItemLore(ItemStack item, int line, List<String> animatedFrames, long delay, long period) {
 
-		return new SimpleRunnable() {
+		return new SimpleAnimation() {
 			int frame = 0;
 
 			@Override
@@ -429,33 +438,63 @@ public class AnimationUtil {
 				item.setItemMeta(meta);
 
 				this.frame++;
-				if (this.frame > animatedFrames.size())
+				if (this.frame >= animatedFrames.size())
 					this.frame = 0;
 			}
-		}.runTaskTimer(SimplePlugin.getInstance(), delay, period);
+		}.runTimer(delay, period);
 	}
 
 	/**
 	 * Animates the title of an inventory (that is currently viewed by the player).
+	 * The animation stops when the player closes or changes the inventory.
 	 *
 	 * @param viewer         The player that views the inventory
 	 * @param animatedFrames The frames (in order) to be displayed in the Title.
 	 * @param delay          The delay (in tick) to wait between animation cycles.
 	 * @param period         The period (in ticks) to wait between showing the next frame.
-	 * @return The repeating BukkitTask (Useful to cancel on reload or shutdown).
+	 * @return The repeating BukkitTask, call its cancel() method to stop it on reload or shutdown.
 	 */
 	public static BukkitTask animateInventoryTitle(Player viewer, List<String> animatedFrames, long delay, long period) {
-		return new SimpleRunnable() {
+		final Inventory inventory = viewer.getOpenInventory().getTopInventory();
+
+		return new SimpleAnimation(viewer) {
 			int frame = 0;
 
+			@Override
+			protected boolean isActive() {
+				return super.isActive() && viewer.getOpenInventory().getTopInventory().equals(inventory);
+			}
+
 			@Override
 			public void run() {
 				PlayerUtil.updateInventoryTitle(viewer, animatedFrames.get(this.frame));
 				this.frame++;
-				if (this.frame > animatedFrames.size())
+				if (this.frame >= animatedFrames.size())
 					this.frame = 0;
 			}
-		}.runTaskTimer(SimplePlugin.getInstance(), delay, period);
+		}.runTimer(delay, period);
+	}
+
+	/**
+	 * Shows the next item of the slider each period, for example to animate
+	 * menu buttons or item frames using the sliders in the slider package.
+	 *
+	 * @param <T>
+	 * @param viewer         The player whose leaving stops the animation, or null
+	 * @param slider         The slider providing frames.
+	 * @param frameConsumer  What to do with each frame.
+	 * @param delay          The delay (in tick) to wait before the first frame.
+	 * @param period         The period (in ticks) to wait between showing the next frame.
+	 * @return The repeating BukkitTask, call its cancel() method to stop it on reload or shutdown.
+	 */
+	public static <T> BukkitTask animateSlider(@Nullable Player viewer, Slider<T> slider, Consumer<T> frameConsumer, long delay, long period) {
+		return new SimpleAnimation(viewer) {
+
+			@Override
+			public void run() {
+				frameConsumer.accept(slider.next());
+			}
+		}.runTimer(delay, period);
 	}
 
 	// ------------------------------------------------------------------------------------------------------------
@@ -11,6 +11,7 @@ import java.util.regex.Pattern;
 
 import org.bukkit.ChatColor;
 import org.mineacademy.fo.MinecraftVersion.V;
+import org.mineacademy.fo.collection.LimitedCache;
 import org.mineacademy.fo.model.Whiteblacklist;
 import org.mineacademy.fo.plugin.SimplePlugin;
 import org.mineacademy.fo.remain.CompChatColor;
@@ -34,6 +35,16 @@ public final class ChatUtil {
 	 */
 	public final static int VISIBLE_CHAT_LINES = 20;
 
+	/**
+	 * Recently centered messages by their message, space character and padding
+	 */
+	private final static LimitedCache<String, String> centeredMessages = new LimitedCache<>(512);
+
+	/**
+	 * Two reusable rows of the edit distance matrix for each thread
+	 */
+	private final static ThreadLocal<int[][]> editDistanceBuffers = ThreadLocal.withInitial(() -> new int[][] { new int[64], new int[64] });
+
 	/**
 	 * Centers a message automatically for padding {@link #CENTER_PX}
 	 *
@@ -81,12 +92,58 @@ public final class ChatUtil {
 		if (message == null || message.equals(""))
 			return "";
 
-		int messagePxSize = 0;
+		return centeredMessages.get(message + '\0' + space + '\0' + centerPx, key -> center0(message, space, centerPx));
+	}
+
+	/*
+	 * Center the message, see center(String, char, int)
+	 */
+	private static String center0(final String message, final char space, final int centerPx) {
+		final long measured = measure(message);
+		final int messagePxSize = (int) (measured >> 1);
+		final boolean isBold = (measured & 1) == 1;
+
+		final StringBuilder builder = new StringBuilder();
+
+		final int halvedMessageSize = messagePxSize / 2;
+		final int toCompensate = centerPx - halvedMessageSize;
+		final DefaultFontInfo font = DefaultFontInfo.getDefaultFontInfo(space);
+		final double spaceLength = isBold ? font.getBoldLength() : font.getLength();
+
+		double compensated = 0;
+
+		while (compensated < toCompensate) {
+			builder.append(space);
+
+			compensated += spaceLength;
+		}
+
+		return builder.toString() + " " + message + " " + builder.toString();
+	}
+
+	/**
+	 * Return how many pixels the message takes in the default chat font,
+	 * skipping & and § color codes and accounting for bold text
+	 *
+	 * @param message
+	 * @return
+	 */
+	public static int getPixelWidth(final String message) {
+		return (int) (measure(message) >> 1);
+	}
+
+	/*
+	 * Return the pixel width of the message shifted left by one bit,
+	 * with the lowest bit set if the message ends in bold
+	 */
+	private static long measure(final String message) {
+		long messagePxSize = 0;
 
 		boolean previousCode = false;
 		boolean isBold = false;
 
-		for (final char c : message.toCharArray())
+		for (int i = 0; i < message.length(); i++) {
+			final char c = message.charAt(i);
 
 			if (c == '&' || c == ChatColor.COLOR_CHAR) {
 				previousCode = true;
@@ -111,23 +168,9 @@ public final class ChatUtil {
 				messagePxSize += isBold ? defaultFont.getBoldLength() : defaultFont.getLength();
 				messagePxSize++;
 			}
-
-		final StringBuilder builder = new StringBuilder();
-
-		final int halvedMessageSize = messagePxSize / 2;
-		final int toCompensate = centerPx - halvedMessageSize;
-		final DefaultFontInfo font = DefaultFontInfo.getDefaultFontInfo(space);
-		final double spaceLength = isBold ? font.getBoldLength() : font.getLength();
-
-		double compensated = 0;
-
-		while (compensated < toCompensate) {
-			builder.append(space);
-
-			compensated += spaceLength;
 		}
 
-		return builder.toString() + " " + message + " " + builder.toString();
+		return messagePxSize << 1 | (isBold ? 1 : 0);
 	}
 
 	/**
@@ -470,29 +513,75 @@ public final class ChatUtil {
 		if (first.isEmpty() && second.isEmpty())
 			return 1D;
 
-		first = removeSimilarity(first);
-		second = removeSimilarity(second);
+		first = normalizeForSimilarity(first);
+		second = normalizeForSimilarity(second);
 
-		String longer = first, shorter = second;
+		final int longerLength = Math.max(first.length(), second.length());
 
-		if (first.length() < second.length()) { // longer should always have greater length
-			longer = second;
-			shorter = first;
-		}
+		if (longerLength == 0)
+			return 0; /* both strings are zero length */
 
-		final int longerLength = longer.length();
+		return (longerLength - editDistance(first, second, longerLength)) / (double) longerLength;
+	}
+
+	/**
+	 * Return true if the similarity of two strings, see {@link #getSimilarityPercentage(String, String)},
+	 * is equal or above the given threshold. Stops comparing as soon as the threshold can no longer be met.
+	 *
+	 * @param first
+	 * @param second
+	 * @param threshold a double within 0.00 and 1.00
+	 * @return
+	 */
+	public static boolean isSimilar(String first, String second, double threshold) {
+		if (first.isEmpty() && second.isEmpty())
+			return true;
+
+		return isSimilarNormalized(normalizeForSimilarity(first), normalizeForSimilarity(second), threshold);
+	}
+
+	/**
+	 * Return true if the similarity of two strings already normalized by {@link #normalizeForSimilarity(String)}
+	 * is equal or above the given threshold. Stops comparing as soon as the threshold can no longer be met.
+	 * <p>
+	 * Use this when comparing a message against many others, such as a player's
+	 * message history, so that you only normalize each message once.
+	 *
+	 * @param first
+	 * @param second
+	 * @param threshold a double within 0.00 and 1.00
+	 * @return
+	 */
+	public static boolean isSimilarNormalized(String first, String second, double threshold) {
+		final int longerLength = Math.max(first.length(), second.length());
 
 		if (longerLength == 0)
-			return 0; /* both strings are zero length */
+			return threshold <= 0; /* both strings are zero length */
+
+		// Find the most edits we can make while still meeting the threshold
+		int maxDistance = (int) (longerLength * (1 - threshold));
+
+		while (maxDistance < longerLength && (longerLength - maxDistance - 1) / (double) longerLength >= threshold)
+			maxDistance++;
 
-		return (longerLength - editDistance(longer, shorter)) / (double) longerLength;
+		while (maxDistance >= 0 && (longerLength - maxDistance) / (double) longerLength < threshold)
+			maxDistance--;
+
+		if (maxDistance < 0)
+			return false;
+
+		return editDistance(first, second, maxDistance) <= maxDistance;
 	}
 
-	/*
+	/**
 	 * Remove any similarity traits of a message such as removing colors,
-	 * lowercasing it, removing diacritic
+	 * lowercasing it, removing diacritic. This is done automatically
+	 * in {@link #getSimilarityPercentage(String, String)}.
+	 *
+	 * @param message
+	 * @return
 	 */
-	private static String removeSimilarity(String message) {
+	public static String normalizeForSimilarity(String message) {
 
 		if (SimplePlugin.getInstance().similarityStripAccents())
 			message = replaceDiacritic(message);
@@ -621,29 +710,72 @@ public final class ChatUtil {
 	// Helpers
 	// --------------------------------------------------------------------------------
 
-	// Example implementation of the Levenshtein Edit Distance
-	// See http://rosettacode.org/wiki/Levenshtein_distance#Java
-	private static int editDistance(String first, String second) {
-		first = first.toLowerCase();
-		second = second.toLowerCase();
-
-		final int[] costs = new int[second.length() + 1];
-		for (int i = 0; i <= first.length(); i++) {
-			int lastValue = i;
-			for (int j = 0; j <= second.length(); j++)
-				if (i == 0)
-					costs[j] = j;
-				else if (j > 0) {
-					int newValue = costs[j - 1];
-					if (first.charAt(i - 1) != second.charAt(j - 1))
-						newValue = Math.min(Math.min(newValue, lastValue), costs[j]) + 1;
-					costs[j - 1] = lastValue;
-					lastValue = newValue;
-				}
-			if (i > 0)
-				costs[second.length()] = lastValue;
+	/*
+	 * Return the Levenshtein edit distance between two strings, or maxDistance + 1 if it is greater
+	 * than maxDistance. We only compute cells within maxDistance from the diagonal, since others
+	 * can't lead to a result within the limit, and stop once a whole row exceeds the limit.
+	 */
+	private static int editDistance(String first, String second, int maxDistance) {
+		final int firstLength = first.length();
+		final int secondLength = second.length();
+
+		maxDistance = Math.min(maxDistance, Math.max(firstLength, secondLength));
+
+		final int limit = maxDistance + 1;
+
+		if (Math.abs(firstLength - secondLength) > maxDistance)
+			return limit;
+
+		if (firstLength == 0 || secondLength == 0)
+			return Math.max(firstLength, secondLength);
+
+		int[][] buffers = editDistanceBuffers.get();
+
+		if (buffers[0].length <= secondLength) {
+			buffers = new int[][] { new int[secondLength + 1], new int[secondLength + 1] };
+
+			editDistanceBuffers.set(buffers);
 		}
-		return costs[second.length()];
+
+		int[] previous = buffers[0];
+		int[] current = buffers[1];
+
+		for (int j = 0; j <= secondLength; j++)
+			previous[j] = Math.min(j, limit);
+
+		for (int i = 1; i <= firstLength; i++) {
+			final int from = Math.max(1, i - maxDistance);
+			final int to = Math.min(secondLength, i + maxDistance);
+			final char character = first.charAt(i - 1);
+
+			current[from - 1] = from == 1 ? Math.min(i, limit) : limit;
+
+			int rowMinimum = current[from - 1];
+
+			for (int j = from; j <= to; j++) {
+				int cost = previous[j - 1] + (character == second.charAt(j - 1) ? 0 : 1);
+
+				cost = Math.min(cost, Math.min(previous[j], current[j - 1]) + 1);
+				cost = Math.min(cost, limit);
+
+				current[j] = cost;
+				rowMinimum = Math.min(rowMinimum, cost);
+			}
+
+			// Cells right of the band are out of reach for the next row
+			if (to < secondLength)
+				current[to + 1] = limit;
+
+			if (rowMinimum > maxDistance)
+				return limit;
+
+			final int[] swap = previous;
+
+			previous = current;
+			current = swap;
+		}
+
+		return previous[secondLength];
 	}
 
 	private static int[] splitCaps(final String message, final List<String> ignored) {
@@ -798,6 +930,21 @@ enum DefaultFontInfo {
 	SPACE(' ', 4),
 	DEFAULT('a', 4);
 
+	/**
+	 * Font info by character for all ASCII characters, built once
+	 */
+	private static final DefaultFontInfo[] BY_CHAR = new DefaultFontInfo[128];
+
+	static {
+		for (final DefaultFontInfo info : values())
+			if (info != DEFAULT && info.character < BY_CHAR.length && BY_CHAR[info.character] == null)
+				BY_CHAR[info.character] = info;
+
+		for (int i = 0; i < BY_CHAR.length; i++)
+			if (BY_CHAR[i] == null)
+				BY_CHAR[i] = DEFAULT;
+	}
+
 	private final char character;
 	private final int length;
 
@@ -821,10 +968,6 @@ enum DefaultFontInfo {
 	}
 
 	public static DefaultFontInfo getDefaultFontInfo(final char c) {
-		for (final DefaultFontInfo dFI : DefaultFontInfo.values())
-			if (dFI.getCharacter() == c)
-				return dFI;
-
-		return DefaultFontInfo.DEFAULT;
+		return c < BY_CHAR.length ? BY_CHAR[c] : DefaultFontInfo.DEFAULT;
 	}
 }
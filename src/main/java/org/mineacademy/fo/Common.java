@@ -3,6 +3,9 @@ package org.mineacademy.fo;
 import static org.bukkit.ChatColor.COLOR_CHAR;
 
 import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Array;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
@@ -22,6 +25,8 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.StringTokenizer;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -52,8 +57,10 @@ import org.mineacademy.fo.collection.SerializedMap;
 import org.mineacademy.fo.collection.StrictList;
 import org.mineacademy.fo.collection.StrictMap;
 import org.mineacademy.fo.debug.Debugger;
+import org.mineacademy.fo.debug.TaskProfiler;
 import org.mineacademy.fo.exception.FoException;
 import org.mineacademy.fo.exception.RegexTimeoutException;
+import org.mineacademy.fo.model.AsyncExecutor;
 import org.mineacademy.fo.model.HookManager;
 import org.mineacademy.fo.model.Replacer;
 import org.mineacademy.fo.model.SimpleRunnable;
@@ -69,6 +76,7 @@ import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
 import net.md_5.bungee.api.chat.TextComponent;
 
 /**
@@ -1549,7 +1557,7 @@ public final class Common {
 			String strippedMessage = instance.regexStripColors() ? stripColors(message) : message;
 			strippedMessage = instance.regexStripAccents() ? ChatUtil.replaceDiacritic(strippedMessage) : strippedMessage;
 
-			return pattern.matcher(TimedCharSequence.withSettingsLimit(strippedMessage));
+			return pattern.matcher(TimedCharSequence.withSettingsLimit(strippedMessage, pattern));
 
 		} catch (final RegexTimeoutException ex) {
 			handleRegexTimeoutException(ex, pattern);
@@ -1621,8 +1629,8 @@ public final class Common {
 				"A regular expression took too long to process, and was",
 				"stopped to prevent freezing your server.",
 				" ",
-				"Limit " + SimpleSettings.REGEX_TIMEOUT + "ms ",
-				"Expression: '" + (pattern == null ? "unknown" : pattern.pattern()) + "'",
+				"Limit " + ex.getExecutionLimit() + "ms ",
+				"Expression: '" + (pattern != null ? pattern.pattern() : ex.getPattern() != null ? ex.getPattern() : "unknown") + "'",
 				"Evaluated message: '" + ex.getCheckedMessage() + "'",
 				" ",
 				"IF YOU CREATED THAT RULE YOURSELF, we unfortunately",
@@ -2583,21 +2591,44 @@ public final class Common {
 	// Scheduling
 	// ------------------------------------------------------------------------------------------------------------
 
+	/*
+	 * The Folia schedulers and their methods, looked up once as method handles since they are called for each task.
+	 * Handles take the scheduler (or the entity for entity schedulers) followed by the method arguments as an array.
+	 */
 	private static Object foliaScheduler;
-	private static Method runAtFixedRate;
-	private static Method runDelayed;
-	private static Method execute;
+	private static Object foliaRegionScheduler;
+	private static MethodHandle runAtFixedRate;
+	private static MethodHandle runDelayed;
+	private static MethodHandle execute;
+	private static MethodHandle regionRunAtFixedRate;
+	private static MethodHandle regionRunDelayed;
+	private static MethodHandle regionExecute;
+	private static MethodHandle entityRunAtFixedRate;
+	private static MethodHandle entityRunDelayed;
+	private static MethodHandle entityExecute;
 	private static Method cancel;
 	private static Method cancelTasks;
 
 	static {
 		if (Remain.isFolia()) {
 			foliaScheduler = ReflectionUtil.invoke("getGlobalRegionScheduler", org.bukkit.Bukkit.getServer());
-			runAtFixedRate = ReflectionUtil.getMethod(foliaScheduler.getClass(), "runAtFixedRate", Plugin.class, Consumer.class, long.class, long.class);
-			execute = ReflectionUtil.getMethod(foliaScheduler.getClass(), "run", Plugin.class, Consumer.class);
-			runDelayed = ReflectionUtil.getMethod(foliaScheduler.getClass(), "runDelayed", Plugin.class, Consumer.class, long.class);
+			runAtFixedRate = lookupFoliaMethod(foliaScheduler.getClass(), null, "runAtFixedRate", Plugin.class, Consumer.class, long.class, long.class);
+			execute = lookupFoliaMethod(foliaScheduler.getClass(), null, "run", Plugin.class, Consumer.class);
+			runDelayed = lookupFoliaMethod(foliaScheduler.getClass(), null, "runDelayed", Plugin.class, Consumer.class, long.class);
 			cancelTasks = ReflectionUtil.getMethod(foliaScheduler.getClass(), "cancelTasks", Plugin.class);
 			cancel = ReflectionUtil.getMethod(ReflectionUtil.lookupClass("io.papermc.paper.threadedregions.scheduler.ScheduledTask"), "cancel");
+
+			foliaRegionScheduler = ReflectionUtil.invoke("getRegionScheduler", org.bukkit.Bukkit.getServer());
+			regionRunAtFixedRate = lookupFoliaMethod(foliaRegionScheduler.getClass(), null, "runAtFixedRate", Plugin.class, Location.class, Consumer.class, long.class, long.class);
+			regionExecute = lookupFoliaMethod(foliaRegionScheduler.getClass(), null, "run", Plugin.class, Location.class, Consumer.class);
+			regionRunDelayed = lookupFoliaMethod(foliaRegionScheduler.getClass(), null, "runDelayed", Plugin.class, Location.class, Consumer.class, long.class);
+
+			final Method getEntityScheduler = ReflectionUtil.getMethod(Entity.class, "getScheduler");
+			final Class<?> entitySchedulerClass = getEntityScheduler.getReturnType();
+
+			entityRunAtFixedRate = lookupFoliaMethod(entitySchedulerClass, getEntityScheduler, "runAtFixedRate", Plugin.class, Consumer.class, Runnable.class, long.class, long.class);
+			entityExecute = lookupFoliaMethod(entitySchedulerClass, getEntityScheduler, "run", Plugin.class, Consumer.class, Runnable.class);
+			entityRunDelayed = lookupFoliaMethod(entitySchedulerClass, getEntityScheduler, "runDelayed", Plugin.class, Consumer.class, Runnable.class, long.class);
 		}
 	}
 
@@ -2632,15 +2663,17 @@ public final class Common {
 		if (runIfDisabled(runnable))
 			return null;
 
+		final Runnable profiled = TaskProfiler.wrap(runnable, "Sync");
+
 		if (Remain.isFolia()) {
 			final Object taskHandle;
 
 			if (delayTicks == 0)
-				taskHandle = ReflectionUtil.invoke(execute, foliaScheduler, SimplePlugin.getInstance(), (Consumer<Object>) t -> runnable.run());
+				taskHandle = invokeFolia(execute, foliaScheduler, SimplePlugin.getInstance(), (Consumer<Object>) t -> profiled.run());
 			else
-				taskHandle = ReflectionUtil.invoke(runDelayed, foliaScheduler, SimplePlugin.getInstance(), (Consumer<Object>) t -> runnable.run(), delayTicks);
+				taskHandle = invokeFolia(runDelayed, foliaScheduler, SimplePlugin.getInstance(), (Consumer<Object>) t -> profiled.run(), (long) delayTicks);
 
-			return SimpleTask.fromFolia(cancel, taskHandle);
+			return setupFoliaTask(runnable, taskHandle);
 		}
 
 		try {
@@ -2650,7 +2683,7 @@ public final class Common {
 				task = ((BukkitRunnable) runnable).runTaskLater(SimplePlugin.getInstance(), delayTicks);
 
 			else
-				task = Bukkit.getScheduler().runTaskLater(SimplePlugin.getInstance(), runnable, delayTicks);
+				task = Bukkit.getScheduler().runTaskLater(SimplePlugin.getInstance(), profiled, delayTicks);
 
 			final SimpleTask simpleTask = SimpleTask.fromBukkit(task);
 
@@ -2660,14 +2693,15 @@ public final class Common {
 			return simpleTask;
 
 		} catch (final NoSuchMethodError err) {
-			return SimpleTask.fromBukkit(Bukkit.getScheduler().scheduleSyncDelayedTask(SimplePlugin.getInstance(), runnable, delayTicks), false);
+			return SimpleTask.fromBukkit(Bukkit.getScheduler().scheduleSyncDelayedTask(SimplePlugin.getInstance(), profiled, delayTicks), false);
 		}
 	}
 
 	/**
 	 * Runs the task async even if the plugin is disabled for some reason.
 	 * <p>
-	 * Schedules the run on the next tick.
+	 * The task is started right away on our own executor, see {@link AsyncExecutor}.
+	 * It is not registered in the Bukkit scheduler, cancel it with {@link SimpleTask#cancel()}.
 	 *
 	 * @param task
 	 * @return
@@ -2678,6 +2712,9 @@ public final class Common {
 
 	/**
 	 * Runs the task async even if the plugin is disabled for some reason.
+	 * <p>
+	 * Tasks without delay are started right away on our own executor, see {@link AsyncExecutor}.
+	 * They are not registered in the Bukkit scheduler, cancel them with {@link SimpleTask#cancel()}.
 	 *
 	 * @param delayTicks
 	 * @param runnable
@@ -2687,15 +2724,30 @@ public final class Common {
 		if (runIfDisabled(runnable))
 			return null;
 
+		final Runnable profiled = TaskProfiler.wrap(runnable, "Async");
+
+		// Bukkit runnables keep their own task so we let Bukkit schedule them
+		if (delayTicks <= 0 && !(runnable instanceof BukkitRunnable)) {
+			final FutureTask<?> future = AsyncExecutor.prepare(profiled);
+			final SimpleTask simpleTask = SimpleTask.fromFuture(future);
+
+			// Give simple runnables their task before they start so they can cancel themselves
+			if (runnable instanceof SimpleRunnable)
+				((SimpleRunnable) runnable).setupTask(simpleTask);
+
+			AsyncExecutor.start(future);
+			return simpleTask;
+		}
+
 		if (Remain.isFolia()) {
 			final Object taskHandle;
 
 			if (delayTicks == 0)
-				taskHandle = ReflectionUtil.invoke(execute, foliaScheduler, SimplePlugin.getInstance(), (Consumer<Object>) t -> runnable.run());
+				taskHandle = invokeFolia(execute, foliaScheduler, SimplePlugin.getInstance(), (Consumer<Object>) t -> profiled.run());
 			else
-				taskHandle = ReflectionUtil.invoke(runDelayed, foliaScheduler, SimplePlugin.getInstance(), (Consumer<Object>) t -> runnable.run(), delayTicks);
+				taskHandle = invokeFolia(runDelayed, foliaScheduler, SimplePlugin.getInstance(), (Consumer<Object>) t -> profiled.run(), (long) delayTicks);
 
-			return SimpleTask.fromFolia(cancel, taskHandle);
+			return setupFoliaTask(runnable, taskHandle);
 		}
 
 		try {
@@ -2705,7 +2757,7 @@ public final class Common {
 				task = ((BukkitRunnable) runnable).runTaskLaterAsynchronously(SimplePlugin.getInstance(), delayTicks);
 
 			else
-				task = Bukkit.getScheduler().runTaskLaterAsynchronously(SimplePlugin.getInstance(), runnable, delayTicks);
+				task = Bukkit.getScheduler().runTaskLaterAsynchronously(SimplePlugin.getInstance(), profiled, delayTicks);
 
 			final SimpleTask simpleTask = SimpleTask.fromBukkit(task);
 
@@ -2715,7 +2767,7 @@ public final class Common {
 			return simpleTask;
 
 		} catch (final NoSuchMethodError err) {
-			return SimpleTask.fromBukkit(Bukkit.getScheduler().scheduleAsyncDelayedTask(SimplePlugin.getInstance(), runnable, delayTicks), true);
+			return SimpleTask.fromBukkit(Bukkit.getScheduler().scheduleAsyncDelayedTask(SimplePlugin.getInstance(), profiled, delayTicks), true);
 		}
 	}
 
@@ -2742,10 +2794,12 @@ public final class Common {
 		if (runIfDisabled(runnable))
 			return null;
 
+		final Runnable profiled = TaskProfiler.wrap(runnable, "Sync timer");
+
 		if (Remain.isFolia()) {
-			final Object taskHandle = ReflectionUtil.invoke(runAtFixedRate, foliaScheduler, SimplePlugin.getInstance(), (Consumer<Object>) t -> runnable.run(), Math.max(1, delayTicks), repeatTicks);
+			final Object taskHandle = invokeFolia(runAtFixedRate, foliaScheduler, SimplePlugin.getInstance(), (Consumer<Object>) t -> profiled.run(), (long) Math.max(1, delayTicks), (long) repeatTicks);
 
-			return SimpleTask.fromFolia(cancel, taskHandle);
+			return setupFoliaTask(runnable, taskHandle);
 		}
 
 		try {
@@ -2755,7 +2809,7 @@ public final class Common {
 				task = ((BukkitRunnable) runnable).runTaskTimer(SimplePlugin.getInstance(), delayTicks, repeatTicks);
 
 			else
-				task = Bukkit.getScheduler().runTaskTimer(SimplePlugin.getInstance(), runnable, delayTicks, repeatTicks);
+				task = Bukkit.getScheduler().runTaskTimer(SimplePlugin.getInstance(), profiled, delayTicks, repeatTicks);
 
 			final SimpleTask simpleTask = SimpleTask.fromBukkit(task);
 
@@ -2765,7 +2819,7 @@ public final class Common {
 			return simpleTask;
 
 		} catch (final NoSuchMethodError err) {
-			return SimpleTask.fromBukkit(Bukkit.getScheduler().scheduleSyncRepeatingTask(SimplePlugin.getInstance(), runnable, delayTicks, repeatTicks), false);
+			return SimpleTask.fromBukkit(Bukkit.getScheduler().scheduleSyncRepeatingTask(SimplePlugin.getInstance(), profiled, delayTicks, repeatTicks), false);
 		}
 	}
 
@@ -2792,10 +2846,12 @@ public final class Common {
 		if (runIfDisabled(runnable))
 			return null;
 
+		final Runnable profiled = TaskProfiler.wrap(runnable, "Async timer");
+
 		if (Remain.isFolia()) {
-			final Object taskHandle = ReflectionUtil.invoke(runAtFixedRate, foliaScheduler, SimplePlugin.getInstance(), (Consumer<Object>) t -> runnable.run(), Math.max(1, delayTicks), repeatTicks);
+			final Object taskHandle = invokeFolia(runAtFixedRate, foliaScheduler, SimplePlugin.getInstance(), (Consumer<Object>) t -> profiled.run(), (long) Math.max(1, delayTicks), (long) repeatTicks);
 
-			return SimpleTask.fromFolia(cancel, taskHandle);
+			return setupFoliaTask(runnable, taskHandle);
 		}
 
 		try {
@@ -2805,7 +2861,7 @@ public final class Common {
 				task = ((BukkitRunnable) runnable).runTaskTimerAsynchronously(SimplePlugin.getInstance(), delayTicks, repeatTicks);
 
 			else
-				task = Bukkit.getScheduler().runTaskTimerAsynchronously(SimplePlugin.getInstance(), runnable, delayTicks, repeatTicks);
+				task = Bukkit.getScheduler().runTaskTimerAsynchronously(SimplePlugin.getInstance(), profiled, delayTicks, repeatTicks);
 
 			final SimpleTask simplTask = SimpleTask.fromBukkit(task);
 
@@ -2815,7 +2871,188 @@ public final class Common {
 			return simplTask;
 
 		} catch (final NoSuchMethodError err) {
-			return SimpleTask.fromBukkit(Bukkit.getScheduler().scheduleAsyncRepeatingTask(SimplePlugin.getInstance(), runnable, delayTicks, repeatTicks), true);
+			return SimpleTask.fromBukkit(Bukkit.getScheduler().scheduleAsyncRepeatingTask(SimplePlugin.getInstance(), profiled, delayTicks, repeatTicks), true);
+		}
+	}
+
+	/**
+	 * Runs the task on the next tick on the thread owning the given location.
+	 * <p>
+	 * On Folia this is the thread of the region the location is in, so tasks in different regions
+	 * run in parallel. On other servers this is the same as {@link #runLater(Runnable)}.
+	 *
+	 * @param location
+	 * @param task
+	 * @return the task or null
+	 */
+	public static SimpleTask runLater(final Location location, final Runnable task) {
+		return runLater(location, 1, task);
+	}
+
+	/**
+	 * Runs the task after the given delay on the thread owning the given location.
+	 * <p>
+	 * On Folia this is the thread of the region the location is in, so tasks in different regions
+	 * run in parallel. On other servers this is the same as {@link #runLater(int, Runnable)}.
+	 *
+	 * @param location
+	 * @param delayTicks
+	 * @param runnable
+	 * @return the task or null
+	 */
+	public static SimpleTask runLater(final Location location, final int delayTicks, Runnable runnable) {
+		if (!Remain.isFolia())
+			return runLater(delayTicks, runnable);
+
+		if (runIfDisabled(runnable))
+			return null;
+
+		final Runnable profiled = TaskProfiler.wrap(runnable, "Region");
+		final Object taskHandle;
+
+		if (delayTicks <= 0)
+			taskHandle = invokeFolia(regionExecute, foliaRegionScheduler, SimplePlugin.getInstance(), location, (Consumer<Object>) t -> profiled.run());
+		else
+			taskHandle = invokeFolia(regionRunDelayed, foliaRegionScheduler, SimplePlugin.getInstance(), location, (Consumer<Object>) t -> profiled.run(), (long) delayTicks);
+
+		return setupFoliaTask(runnable, taskHandle);
+	}
+
+	/**
+	 * Runs the task timer on the thread owning the given location.
+	 * <p>
+	 * On Folia this is the thread of the region the location is in, so tasks in different regions
+	 * run in parallel. On other servers this is the same as {@link #runTimer(int, int, Runnable)}.
+	 *
+	 * @param location
+	 * @param delayTicks  the delay before first run
+	 * @param repeatTicks the delay between each run
+	 * @param runnable
+	 * @return the task or null
+	 */
+	public static SimpleTask runTimer(final Location location, final int delayTicks, final int repeatTicks, Runnable runnable) {
+		if (!Remain.isFolia())
+			return runTimer(delayTicks, repeatTicks, runnable);
+
+		if (runIfDisabled(runnable))
+			return null;
+
+		final Runnable profiled = TaskProfiler.wrap(runnable, "Region timer");
+		final Object taskHandle = invokeFolia(regionRunAtFixedRate, foliaRegionScheduler, SimplePlugin.getInstance(), location, (Consumer<Object>) t -> profiled.run(), (long) Math.max(1, delayTicks), (long) repeatTicks);
+
+		return setupFoliaTask(runnable, taskHandle);
+	}
+
+	/**
+	 * Runs the task on the next tick on the thread owning the given entity.
+	 * <p>
+	 * On Folia the task follows the entity across regions and is not run if the entity
+	 * is removed, in which case we return null. On other servers this is the same as {@link #runLater(Runnable)}.
+	 *
+	 * @param entity
+	 * @param task
+	 * @return the task or null
+	 */
+	public static SimpleTask runLater(final Entity entity, final Runnable task) {
+		return runLater(entity, 1, task);
+	}
+
+	/**
+	 * Runs the task after the given delay on the thread owning the given entity.
+	 * <p>
+	 * On Folia the task follows the entity across regions and is not run if the entity
+	 * is removed, in which case we return null. On other servers this is the same as {@link #runLater(int, Runnable)}.
+	 *
+	 * @param entity
+	 * @param delayTicks
+	 * @param runnable
+	 * @return the task or null
+	 */
+	public static SimpleTask runLater(final Entity entity, final int delayTicks, Runnable runnable) {
+		if (!Remain.isFolia())
+			return runLater(delayTicks, runnable);
+
+		if (runIfDisabled(runnable))
+			return null;
+
+		final Runnable profiled = TaskProfiler.wrap(runnable, "Entity");
+		final Object taskHandle;
+
+		if (delayTicks <= 0)
+			taskHandle = invokeFolia(entityExecute, entity, SimplePlugin.getInstance(), (Consumer<Object>) t -> profiled.run(), null);
+		else
+			taskHandle = invokeFolia(entityRunDelayed, entity, SimplePlugin.getInstance(), (Consumer<Object>) t -> profiled.run(), null, (long) delayTicks);
+
+		return setupFoliaTask(runnable, taskHandle);
+	}
+
+	/**
+	 * Runs the task timer on the thread owning the given entity.
+	 * <p>
+	 * On Folia the task follows the entity across regions and stops when the entity
+	 * is removed. On other servers this is the same as {@link #runTimer(int, int, Runnable)}.
+	 *
+	 * @param entity
+	 * @param delayTicks  the delay before first run
+	 * @param repeatTicks the delay between each run
+	 * @param runnable
+	 * @return the task or null
+	 */
+	public static SimpleTask runTimer(final Entity entity, final int delayTicks, final int repeatTicks, Runnable runnable) {
+		if (!Remain.isFolia())
+			return runTimer(delayTicks, repeatTicks, runnable);
+
+		if (runIfDisabled(runnable))
+			return null;
+
+		final Runnable profiled = TaskProfiler.wrap(runnable, "Entity timer");
+		final Object taskHandle = invokeFolia(entityRunAtFixedRate, entity, SimplePlugin.getInstance(), (Consumer<Object>) t -> profiled.run(), null, (long) Math.max(1, delayTicks), (long) repeatTicks);
+
+		return setupFoliaTask(runnable, taskHandle);
+	}
+
+	/*
+	 * Wrap the Folia task, or return null if it was not scheduled
+	 */
+	private static SimpleTask setupFoliaTask(final Runnable runnable, @Nullable final Object taskHandle) {
+		if (taskHandle == null)
+			return null;
+
+		final SimpleTask simpleTask = SimpleTask.fromFolia(cancel, taskHandle);
+
+		if (runnable instanceof SimpleRunnable)
+			((SimpleRunnable) runnable).setupTask(simpleTask);
+
+		return simpleTask;
+	}
+
+	/*
+	 * Call the Folia scheduler method handle with the given scheduler (or entity) and arguments
+	 */
+	private static Object invokeFolia(final MethodHandle handle, final Object... arguments) {
+		try {
+			return (Object) handle.invokeExact(arguments);
+
+		} catch (final Throwable t) {
+			throw new FoException(t, "Failed to schedule a Folia task");
+		}
+	}
+
+	/*
+	 * Look up the scheduler method as a handle taking an Object array, optionally getting the scheduler
+	 * from the first argument using the given getter, such as from an entity
+	 */
+	private static MethodHandle lookupFoliaMethod(final Class<?> schedulerClass, @Nullable final Method schedulerGetter, final String name, final Class<?>... parameters) {
+		try {
+			MethodHandle handle = MethodHandles.lookup().unreflect(ReflectionUtil.getMethod(schedulerClass, name, parameters));
+
+			if (schedulerGetter != null)
+				handle = MethodHandles.filterArguments(handle, 0, MethodHandles.lookup().unreflect(schedulerGetter));
+
+			return handle.asSpreader(Object[].class, handle.type().parameterCount()).asType(MethodType.methodType(Object.class, Object[].class));
+
+		} catch (final IllegalAccessException ex) {
+			throw new FoException(ex, "Unable to access Folia scheduler method " + schedulerClass.getSimpleName() + "#" + name);
 		}
 	}
 
@@ -3012,39 +3249,51 @@ public final class Common {
 	 * Represents a timed chat sequence, used when checking for
 	 * regular expressions so we time how long it takes and
 	 * stop the execution if takes too long
+	 * <p>
+	 * We only read the clock once every few thousand characters the expression
+	 * reads and only count the time it actually spends evaluating, so that a sequence
+	 * evaluated later, i.e. in a runnable, or reused between two matchers is not
+	 * stopped for the time it waited.
 	 */
 	public final static class TimedCharSequence implements CharSequence {
 
+		/**
+		 * How many characters to read between two clock checks, must be a power of two minus one
+		 */
+		private static final int CHECK_INTERVAL_MASK = 4096 - 1;
+
+		/**
+		 * Gaps between two clock checks longer than this mean the evaluation was paused
+		 * and are not counted towards the limit
+		 */
+		private static final long PAUSE_THRESHOLD_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
 		/**
 		 * The timed message
 		 */
 		private final CharSequence message;
 
 		/**
-		 * The timeout limit in millis
+		 * The execution budget, shared with all subsequences
 		 */
-		private final long futureTimestampLimit;
+		private final Budget budget;
 
 		/*
-		 * Create a new timed message for the given message with a timeout in millis
+		 * Create a new timed message for the given message and budget
 		 */
-		private TimedCharSequence(@NonNull final CharSequence message, long futureTimestampLimit) {
+		private TimedCharSequence(@NonNull final CharSequence message, final Budget budget) {
 			this.message = message;
-			this.futureTimestampLimit = futureTimestampLimit;
+			this.budget = budget;
 		}
 
 		/**
-		 * Gets a character at the given index, or throws an error if
-		 * this is called too late after the constructor.
+		 * Gets a character at the given index, or throws {@link RegexTimeoutException}
+		 * if the expression reading it has been evaluating for too long.
 		 */
 		@Override
 		public char charAt(final int index) {
-
-			// Temporarily disabled due to a rare condition upstream when we take this message
-			// and run it in a runnable, then this is still being evaluated past limit and it fails
-			//
-			//if (System.currentTimeMillis() > futureTimestampLimit)
-			//	throw new RegexTimeoutException(message, futureTimestampLimit);
+			if ((++this.budget.reads & CHECK_INTERVAL_MASK) == 0)
+				this.budget.check();
 
 			try {
 				return this.message.charAt(index);
@@ -3062,7 +3311,7 @@ public final class Common {
 
 		@Override
 		public CharSequence subSequence(final int start, final int end) {
-			return new TimedCharSequence(this.message.subSequence(start, end), this.futureTimestampLimit);
+			return new TimedCharSequence(this.message.subSequence(start, end), this.budget);
 		}
 
 		@Override
@@ -3077,7 +3326,89 @@ public final class Common {
 		 * @return
 		 */
 		public static TimedCharSequence withSettingsLimit(CharSequence message) {
-			return new TimedCharSequence(message, System.currentTimeMillis() + SimpleSettings.REGEX_TIMEOUT);
+			return withSettingsLimit(message, null);
+		}
+
+		/**
+		 * Compile a new char sequence with limit from settings.yml, reporting
+		 * the given pattern when the limit is exceeded
+		 *
+		 * @param message
+		 * @param pattern
+		 * @return
+		 */
+		public static TimedCharSequence withSettingsLimit(CharSequence message, @Nullable Pattern pattern) {
+			return withLimit(message, SimpleSettings.REGEX_TIMEOUT, pattern);
+		}
+
+		/**
+		 * Compile a new char sequence that may be evaluated for up to the given
+		 * amount of milliseconds, reporting the given pattern when the limit is exceeded
+		 *
+		 * @param message
+		 * @param limitMillis
+		 * @param pattern
+		 * @return
+		 */
+		public static TimedCharSequence withLimit(CharSequence message, long limitMillis, @Nullable Pattern pattern) {
+			return new TimedCharSequence(message, new Budget(message, limitMillis, pattern));
+		}
+
+		/*
+		 * The time spent evaluating a message. Matchers are used from one thread
+		 * at a time so we do not need any synchronization here.
+		 */
+		@RequiredArgsConstructor
+		private static final class Budget {
+
+			/**
+			 * The original message, reported when the limit is exceeded
+			 */
+			private final CharSequence message;
+
+			/**
+			 * The limit in millis
+			 */
+			private final long limitMillis;
+
+			/**
+			 * The pattern reported when the limit is exceeded
+			 */
+			private final Pattern pattern;
+
+			/**
+			 * How many characters were read so far
+			 */
+			private int reads;
+
+			/**
+			 * The nano time of the last clock check, or 0 if not checked yet
+			 */
+			private long lastCheckNanos;
+
+			/**
+			 * Nanos spent evaluating so far
+			 */
+			private long elapsedNanos;
+
+			/*
+			 * Add the time since the last check and throw an error if we ran out of time
+			 */
+			void check() {
+				final long now = System.nanoTime();
+
+				if (this.lastCheckNanos != 0) {
+					final long gap = now - this.lastCheckNanos;
+
+					if (gap < PAUSE_THRESHOLD_NANOS)
+						this.elapsedNanos += gap;
+				}
+
+				this.lastCheckNanos = now;
+
+				if (this.elapsedNanos > TimeUnit.MILLISECONDS.toNanos(this.limitMillis))
+					throw new RegexTimeoutException(this.message, this.limitMillis, this.pattern);
+			}
 		}
 	}
 }
\ No newline at end of file
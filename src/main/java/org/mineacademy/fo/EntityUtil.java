@@ -1,6 +1,7 @@
 package org.mineacademy.fo;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
@@ -28,10 +29,10 @@ import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.entity.ProjectileHitEvent;
 import org.bukkit.inventory.ItemStack;
+import org.bukkit.scheduler.BukkitTask;
 import org.mineacademy.fo.collection.expiringmap.ExpiringMap;
 import org.mineacademy.fo.exception.FoException;
 import org.mineacademy.fo.model.HookManager;
-import org.mineacademy.fo.model.SimpleRunnable;
 import org.mineacademy.fo.remain.Remain;
 
 import lombok.AccessLevel;
@@ -242,7 +243,7 @@ public final class EntityUtil {
 	// ----------------------------------------------------------------------------------------------------
 
 	/**
-	 * Runs a timer task with the tick period of 1 and will trigger your hit listener
+	 * Checks the entity every tick and will trigger your hit listener
 	 * when the given entity isOnGround. If the entity gets removed before it hits
 	 * the ground, nothing is called
 	 * <p>
@@ -256,7 +257,7 @@ public final class EntityUtil {
 	}
 
 	/**
-	 * Runs a timer task with the tick period of 1 and will trigger your fly listener
+	 * Checks the entity every tick and will trigger your fly listener
 	 * each tick until entity is either removed or isOnGround
 	 * <p>
 	 * If the entity still flies after 30 seconds, nothing is called
@@ -269,11 +270,12 @@ public final class EntityUtil {
 	}
 
 	/**
-	 * Runs a timer task with the tick period of 1 and will trigger your hit listener
+	 * Checks the entity every tick and will trigger your hit listener
 	 * when the given entity isOnGround. If the entity gets removed before it hits
 	 * the ground, nothing is called
 	 * <p>
-	 * The fly listener is called every tick
+	 * The fly listener is called every tick. All tracked entities are checked
+	 * from one shared task.
 	 *
 	 * @param entity
 	 * @param timeoutTicks
@@ -284,40 +286,17 @@ public final class EntityUtil {
 		if (flyListener == null && hitGroundListener == null)
 			throw new FoException("Cannot track entity with fly and hit listeners on null!");
 
-		Common.runTimer(1, new SimpleRunnable() {
-
-			private int elapsedTicks = 0;
-
-			@Override
-			public void run() {
-
-				// Cancel after the given timeout to save performance
-				if (this.elapsedTicks++ > timeoutTicks) {
-					this.cancel();
-
-					return;
-				}
-
-				// Cancel when invalid
-				if (entity == null || entity.isDead() || !entity.isValid()) {
-					if (entity instanceof FallingBlock && hitGroundListener != null)
-						hitGroundListener.run();
-
-					this.cancel();
-					return;
-				}
-
-				// Run the hit listener
-				if (entity.isOnGround()) {
-					if (hitGroundListener != null)
-						hitGroundListener.run();
-
-					this.cancel();
+		EntityTracking.add(entity, timeoutTicks, flyListener, hitGroundListener);
+	}
 
-				} else if (flyListener != null)
-					flyListener.run();
-			}
-		});
+	/**
+	 * Stop tracking all entities, called when the plugin is reloaded or disabled
+	 *
+	 * @deprecated internal use only
+	 */
+	@Deprecated
+	public static void cancelTracking() {
+		EntityTracking.clear();
 	}
 
 	/**
@@ -378,3 +357,179 @@ class HitTracking implements Listener {
 		flyingProjectiles.put(uniqueId, listeners);
 	}
 }
+
+/**
+ * Class responsible for checking all entities from {@link EntityUtil#track(Entity, int, Runnable, Runnable)}
+ * in one task, entries are stored in parallel arrays and compacted each tick
+ */
+final class EntityTracking {
+
+	/**
+	 * The tracked entities
+	 */
+	private static Entity[] entities = new Entity[16];
+
+	/**
+	 * Listeners called each tick the entity flies, by entry index
+	 */
+	private static Runnable[] flyListeners = new Runnable[16];
+
+	/**
+	 * Listeners called when the entity lands, by entry index
+	 */
+	private static Runnable[] hitGroundListeners = new Runnable[16];
+
+	/**
+	 * The last tick each entry is checked at, by entry index
+	 */
+	private static long[] deadlines = new long[16];
+
+	/**
+	 * How many entries are tracked
+	 */
+	private static int size = 0;
+
+	/**
+	 * The current tick of the tracking task
+	 */
+	private static long currentTick = 0;
+
+	/**
+	 * The task checking entries, null when nothing is tracked
+	 */
+	private static BukkitTask task;
+
+	/*
+	 * Start tracking the entity from the next tick
+	 */
+	static synchronized void add(Entity entity, int timeoutTicks, Runnable flyListener, Runnable hitGroundListener) {
+		if (size == entities.length) {
+			final int capacity = size * 2;
+
+			entities = Arrays.copyOf(entities, capacity);
+			flyListeners = Arrays.copyOf(flyListeners, capacity);
+			hitGroundListeners = Arrays.copyOf(hitGroundListeners, capacity);
+			deadlines = Arrays.copyOf(deadlines, capacity);
+		}
+
+		entities[size] = entity;
+		flyListeners[size] = flyListener;
+		hitGroundListeners[size] = hitGroundListener;
+		deadlines[size] = currentTick + timeoutTicks + 1;
+		size++;
+
+		if (task == null)
+			task = Common.runTimer(1, EntityTracking::tick);
+	}
+
+	/*
+	 * Stop tracking everything
+	 */
+	static synchronized void clear() {
+		Arrays.fill(entities, 0, size, null);
+		Arrays.fill(flyListeners, 0, size, null);
+		Arrays.fill(hitGroundListeners, 0, size, null);
+		size = 0;
+
+		if (task != null) {
+			task.cancel();
+
+			task = null;
+		}
+	}
+
+	/*
+	 * Check all entries and move those we keep to the front
+	 */
+	private static synchronized void tick() {
+		final int count = size;
+		int kept = 0;
+
+		currentTick++;
+
+		for (int index = 0; index < count; index++) {
+			boolean keep;
+
+			try {
+				keep = check(entities[index], flyListeners[index], hitGroundListeners[index], deadlines[index]);
+
+			} catch (final Throwable t) {
+				keep = false;
+
+				Common.error(t, "Error tracking entity " + entities[index]);
+			}
+
+			if (keep)
+				move(index, kept++);
+		}
+
+		// A listener stopped all tracking
+		if (size < count) {
+			Arrays.fill(entities, 0, count, null);
+			Arrays.fill(flyListeners, 0, count, null);
+			Arrays.fill(hitGroundListeners, 0, count, null);
+			size = 0;
+
+			return;
+		}
+
+		// Entries added by listeners while we were checking
+		for (int index = count; index < size; index++)
+			move(index, kept++);
+
+		Arrays.fill(entities, kept, size, null);
+		Arrays.fill(flyListeners, kept, size, null);
+		Arrays.fill(hitGroundListeners, kept, size, null);
+		size = kept;
+
+		if (size == 0 && task != null) {
+			task.cancel();
+
+			task = null;
+		}
+	}
+
+	/*
+	 * Run listeners for a single entry and return if we should keep tracking it
+	 */
+	private static boolean check(Entity entity, Runnable flyListener, Runnable hitGroundListener, long deadline) {
+
+		// Cancel after the given timeout to save performance
+		if (currentTick > deadline)
+			return false;
+
+		// Cancel when invalid
+		if (entity == null || entity.isDead() || !entity.isValid()) {
+			if (entity instanceof FallingBlock && hitGroundListener != null)
+				hitGroundListener.run();
+
+			return false;
+		}
+
+		// Run the hit listener
+		if (entity.isOnGround()) {
+			if (hitGroundListener != null)
+				hitGroundListener.run();
+
+			return false;
+		}
+
+		if (flyListener != null)
+			flyListener.run();
+
+		return true;
+	}
+
+	/*
+	 * Move the entry to a lower index
+	 */
+	private static void move(int from, int to) {
+		if (from == to)
+			return;
+
+		entities[to] = entities[from];
+		flyListeners[to] = flyListeners[from];
+		hitGroundListeners[to] = hitGroundListeners[from];
+		deadlines[to] = deadlines[from];
+	}
+}
@@ -1,15 +1,22 @@
 package org.mineacademy.fo;
 
 import java.text.DecimalFormat;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.NavigableMap;
 import java.util.TreeMap;
 
 import org.bukkit.util.Vector;
+import org.mineacademy.fo.collection.LimitedCache;
 
 import lombok.AccessLevel;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
 
 /**
  * Utility class for mathematical operations.
@@ -42,6 +49,16 @@ public final class MathUtil {
 	 */
 	private final static NavigableMap<Integer, String> romanNumbers = new TreeMap<>();
 
+	/**
+	 * Compiled expressions by their source, see {@link #compile(String)}
+	 */
+	private final static LimitedCache<String, Expression> compiledExpressions = new LimitedCache<>(1_000);
+
+	/**
+	 * Values passed to expressions without variables
+	 */
+	private final static double[] NO_VALUES = new double[0];
+
 	// Load the roman numbers
 	static {
 		romanNumbers.put(1000, "M");
@@ -387,117 +404,356 @@ public final class MathUtil {
 
 	/**
 	 * Evaluate the given expression, e.g. 5*(4-2) returns... let me check!
+	 * <p>
+	 * Expressions usually have their values already filled in here and are rarely
+	 * evaluated twice, so we reuse an expression already compiled by {@link #compile(String)}
+	 * but do not cache new ones. Compile expressions you evaluate often with variables instead.
 	 *
 	 * @param expression
 	 * @return
 	 */
 	public static double calculate(final String expression) {
-		class Parser {
-			int pos = -1, c;
+		final Expression compiled = compiledExpressions.get(expression);
 
-			void eatChar() {
-				this.c = ++this.pos < expression.length() ? expression.charAt(this.pos) : -1;
-			}
+		return (compiled != null ? compiled : new ExpressionParser(expression).parse()).evaluate();
+	}
 
-			void eatSpace() {
-				while (Character.isWhitespace(this.c))
-					this.eatChar();
+	/**
+	 * Compile the given expression into a reusable immutable {@link Expression}
+	 * you can evaluate many times without parsing it again, e.g.
+	 * "price * (1 + tax) ^ level" with variables bound at evaluation time.
+	 * <p>
+	 * Compiled expressions are cached by their source.
+	 *
+	 * @param expression
+	 * @return
+	 * @throws CalculatorException if the expression is malformed
+	 */
+	public static Expression compile(final String expression) {
+		return compiledExpressions.get(expression, source -> new ExpressionParser(source).parse());
+	}
+
+	/**
+	 * Represents a compiled expression tree, immutable and thread-safe.
+	 * <p>
+	 * Variables are bound to slots in the order they first appear in the expression,
+	 * see {@link #getVariables()}.
+	 */
+	public static final class Expression {
+
+		/**
+		 * The expression this was compiled from
+		 */
+		@Getter
+		private final String source;
+
+		/**
+		 * The root node of the tree
+		 */
+		private final Node root;
+
+		/**
+		 * Variable names in slot order
+		 */
+		private final String[] variables;
+
+		private Expression(final String source, final Node root, final String[] variables) {
+			this.source = source;
+			this.root = root;
+			this.variables = variables;
+		}
+
+		/**
+		 * Return the variable names in the order their values are expected
+		 * in {@link #evaluate(double...)}
+		 *
+		 * @return
+		 */
+		public List<String> getVariables() {
+			return Collections.unmodifiableList(Arrays.asList(this.variables));
+		}
+
+		/**
+		 * Return the slot of the given variable or -1 if the expression does not use it
+		 *
+		 * @param variable
+		 * @return
+		 */
+		public int indexOf(final String variable) {
+			for (int i = 0; i < this.variables.length; i++)
+				if (this.variables[i].equals(variable))
+					return i;
+
+			return -1;
+		}
+
+		/**
+		 * Return true if this expression has been folded into a single constant
+		 *
+		 * @return
+		 */
+		public boolean isConstant() {
+			return this.root instanceof Constant;
+		}
+
+		/**
+		 * Evaluate an expression without variables
+		 *
+		 * @return
+		 */
+		public double evaluate() {
+			return this.evaluate(NO_VALUES);
+		}
+
+		/**
+		 * Evaluate the expression with the given variable values in the order
+		 * of {@link #getVariables()}. Does not allocate anything, you can reuse the array.
+		 *
+		 * @param values
+		 * @return
+		 */
+		public double evaluate(final double... values) {
+			if (values.length < this.variables.length)
+				throw new CalculatorException("Expression '" + this.source + "' needs variables " + Arrays.toString(this.variables) + ", got " + values.length + " value(s)");
+
+			return this.root.evaluate(values);
+		}
+
+		/**
+		 * Evaluate the expression with variables looked up by name from the given map
+		 *
+		 * @param variables
+		 * @return
+		 */
+		public double evaluate(final Map<String, ? extends Number> variables) {
+			if (this.variables.length == 0)
+				return this.root.evaluate(NO_VALUES);
+
+			final double[] values = new double[this.variables.length];
+
+			for (int i = 0; i < this.variables.length; i++) {
+				final Number value = variables.get(this.variables[i]);
+
+				if (value == null)
+					throw new CalculatorException("Missing variable '" + this.variables[i] + "' in expression '" + this.source + "'");
+
+				values[i] = value.doubleValue();
 			}
 
-			double parse() {
+			return this.root.evaluate(values);
+		}
+
+		@Override
+		public String toString() {
+			return "Expression{" + this.source + "}";
+		}
+	}
+
+	/*
+	 * Parses an expression into a tree of nodes, folding constants along the way
+	 */
+	private static final class ExpressionParser {
+
+		private final String expression;
+		private final List<String> variables = new ArrayList<>();
+		private int pos = -1, c;
+
+		ExpressionParser(final String expression) {
+			this.expression = expression;
+		}
+
+		void eatChar() {
+			this.c = ++this.pos < this.expression.length() ? this.expression.charAt(this.pos) : -1;
+		}
+
+		void eatSpace() {
+			while (Character.isWhitespace(this.c))
 				this.eatChar();
+		}
 
-				final double v = this.parseExpression();
+		Expression parse() {
+			this.eatChar();
 
-				if (this.c != -1)
-					throw new CalculatorException("Unexpected: " + (char) this.c);
+			final Node root = this.parseExpression();
 
-				return v;
-			}
+			if (this.c != -1)
+				throw new CalculatorException("Unexpected: " + (char) this.c);
 
-			// Grammar:
-			// expression = term | expression `+` term | expression `-` term
-			// term = factor | term `*` factor | term `/` factor | term brackets
-			// factor = brackets | number | factor `^` factor
-			// brackets = `(` expression `)`
+			return new Expression(this.expression, root, this.variables.toArray(new String[this.variables.size()]));
+		}
 
-			double parseExpression() {
-				double v = this.parseTerm();
+		// Grammar:
+		// expression = term | expression `+` term | expression `-` term
+		// term = factor | term `*` factor | term `/` factor | term brackets
+		// factor = brackets | number | variable | factor `^` factor
+		// brackets = `(` expression `)`
 
-				for (;;) {
-					this.eatSpace();
+		Node parseExpression() {
+			Node v = this.parseTerm();
 
-					if (this.c == '+') { // addition
-						this.eatChar();
-						v += this.parseTerm();
-					} else if (this.c == '-') { // subtraction
-						this.eatChar();
-						v -= this.parseTerm();
-					} else
-						return v;
+			for (;;) {
+				this.eatSpace();
 
-				}
+				if (this.c == '+') { // addition
+					this.eatChar();
+					v = Operation.fold('+', v, this.parseTerm());
+				} else if (this.c == '-') { // subtraction
+					this.eatChar();
+					v = Operation.fold('-', v, this.parseTerm());
+				} else
+					return v;
 			}
+		}
 
-			double parseTerm() {
-				double v = this.parseFactor();
+		Node parseTerm() {
+			Node v = this.parseFactor();
 
-				for (;;) {
-					this.eatSpace();
+			for (;;) {
+				this.eatSpace();
 
-					if (this.c == '/') { // division
+				if (this.c == '/') { // division
+					this.eatChar();
+					v = Operation.fold('/', v, this.parseFactor());
+				} else if (this.c == '*' || this.c == '(') { // multiplication
+					if (this.c == '*')
 						this.eatChar();
-						v /= this.parseFactor();
-					} else if (this.c == '*' || this.c == '(') { // multiplication
-						if (this.c == '*')
-							this.eatChar();
-						v *= this.parseFactor();
-					} else
-						return v;
-				}
+					v = Operation.fold('*', v, this.parseFactor());
+				} else
+					return v;
 			}
+		}
+
+		Node parseFactor() {
+			Node v;
+			boolean negate = false;
 
-			double parseFactor() {
-				double v;
-				boolean negate = false;
+			this.eatSpace();
 
+			if (this.c == '+' || this.c == '-') { // unary plus & minus
+				negate = this.c == '-';
+				this.eatChar();
 				this.eatSpace();
+			}
 
-				if (this.c == '+' || this.c == '-') { // unary plus & minus
-					negate = this.c == '-';
+			if (this.c == '(') { // brackets
+				this.eatChar();
+				v = this.parseExpression();
+				if (this.c == ')')
 					this.eatChar();
-					this.eatSpace();
-				}
 
-				if (this.c == '(') { // brackets
+			} else if (this.c == '_' || Character.isLetter(this.c)) { // variables
+				final int start = this.pos;
+
+				while (this.c == '_' || Character.isLetterOrDigit(this.c))
 					this.eatChar();
-					v = this.parseExpression();
-					if (this.c == ')')
-						this.eatChar();
-				} else { // numbers
-					final StringBuilder sb = new StringBuilder();
 
-					while (this.c >= '0' && this.c <= '9' || this.c == '.') {
-						sb.append((char) this.c);
-						this.eatChar();
-					}
+				final String name = this.expression.substring(start, this.pos);
+				int slot = this.variables.indexOf(name);
 
-					if (sb.length() == 0)
-						throw new CalculatorException("Unexpected: " + (char) this.c);
+				if (slot == -1) {
+					slot = this.variables.size();
 
-					v = Double.parseDouble(sb.toString());
+					this.variables.add(name);
 				}
-				this.eatSpace();
-				if (this.c == '^') { // exponentiation
+
+				v = new Variable(slot);
+
+			} else { // numbers
+				final int start = this.pos;
+
+				while (this.c >= '0' && this.c <= '9' || this.c == '.')
 					this.eatChar();
-					v = Math.pow(v, this.parseFactor());
-				}
-				if (negate)
-					v = -v; // unary minus is applied after exponentiation; e.g. -3^2=-9
-				return v;
+
+				if (this.pos == start)
+					throw new CalculatorException("Unexpected: " + (char) this.c);
+
+				v = new Constant(Double.parseDouble(this.expression.substring(start, this.pos)));
+			}
+			this.eatSpace();
+			if (this.c == '^') { // exponentiation
+				this.eatChar();
+				v = Operation.fold('^', v, this.parseFactor());
 			}
+			if (negate)
+				v = v instanceof Constant ? new Constant(-((Constant) v).value) : new Negation(v); // unary minus is applied after exponentiation; e.g. -3^2=-9
+			return v;
+		}
+	}
+
+	/*
+	 * A single node in the expression tree
+	 */
+	private interface Node {
+		double evaluate(double[] values);
+	}
+
+	@RequiredArgsConstructor
+	private static final class Constant implements Node {
+		private final double value;
+
+		@Override
+		public double evaluate(final double[] values) {
+			return this.value;
+		}
+	}
+
+	@RequiredArgsConstructor
+	private static final class Variable implements Node {
+		private final int slot;
+
+		@Override
+		public double evaluate(final double[] values) {
+			return values[this.slot];
+		}
+	}
+
+	@RequiredArgsConstructor
+	private static final class Negation implements Node {
+		private final Node node;
+
+		@Override
+		public double evaluate(final double[] values) {
+			return -this.node.evaluate(values);
+		}
+	}
+
+	@RequiredArgsConstructor
+	private static final class Operation implements Node {
+		private final char operator;
+		private final Node left;
+		private final Node right;
+
+		@Override
+		public double evaluate(final double[] values) {
+			return apply(this.operator, this.left.evaluate(values), this.right.evaluate(values));
+		}
+
+		/*
+		 * Create a new operation, or compute it right away if both sides are constant
+		 */
+		static Node fold(final char operator, final Node left, final Node right) {
+			if (left instanceof Constant && right instanceof Constant)
+				return new Constant(apply(operator, ((Constant) left).value, ((Constant) right).value));
+
+			return new Operation(operator, left, right);
+		}
+
+		static double apply(final char operator, final double left, final double right) {
+			switch (operator) {
+				case '+':
+					return left + right;
+				case '-':
+					return left - right;
+				case '*':
+					return left * right;
+				case '/':
+					return left / right;
+				case '^':
+					return Math.pow(left, right);
+			}
+
+			throw new CalculatorException("Unknown operator: " + operator);
 		}
-		return new Parser().parse();
 	}
 
 	/**
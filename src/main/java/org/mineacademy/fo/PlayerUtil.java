@@ -44,6 +44,7 @@ import org.mineacademy.fo.jsonsimple.JSONObject;
 import org.mineacademy.fo.jsonsimple.JSONParser;
 import org.mineacademy.fo.menu.Menu;
 import org.mineacademy.fo.model.HookManager;
+import org.mineacademy.fo.model.MainThreadQueue;
 import org.mineacademy.fo.plugin.SimplePlugin;
 import org.mineacademy.fo.remain.CompAttribute;
 import org.mineacademy.fo.remain.CompMaterial;
@@ -823,7 +824,7 @@ public final class PlayerUtil {
 			final String parsedName = HookManager.getNameFromNick(name);
 			final OfflinePlayer offlinePlayer = Bukkit.getOfflinePlayer(parsedName);
 
-			Common.runLater(() -> syncCallback.accept(offlinePlayer));
+			MainThreadQueue.submit(() -> syncCallback.accept(offlinePlayer));
 		});
 	}
 
@@ -0,0 +1,172 @@
+package org.mineacademy.fo.collection;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.mineacademy.fo.Valid;
+
+import lombok.Getter;
+
+/**
+ * Represents a simple thread-safe cache only storing a handful of entries,
+ * evicting the least recently used one when full.
+ * <p>
+ * Values are computed outside of the lock so two threads may compute the same
+ * key at once, the cache is thus only suited for immutable or idempotent values.
+ *
+ * @param <K>
+ * @param <V>
+ */
+public final class LimitedCache<K, V> {
+
+	/**
+	 * The delegate map in access order
+	 */
+	private final Map<K, V> delegate;
+
+	/**
+	 * The maximum cache size
+	 */
+	@Getter
+	private final int capacity;
+
+	/**
+	 * How many times we found a cached value
+	 */
+	private final AtomicLong hits = new AtomicLong();
+
+	/**
+	 * How many times we had to compute the value
+	 */
+	private final AtomicLong misses = new AtomicLong();
+
+	/**
+	 * Create a new limited cache with the given capacity
+	 *
+	 * @param capacity
+	 */
+	public LimitedCache(final int capacity) {
+		Valid.checkBoolean(capacity > 0, "Cache capacity must be positive, got " + capacity);
+
+		this.capacity = capacity;
+		this.delegate = new LinkedHashMap<K, V>(16, 0.75F, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<K, V> eldest) {
+				return this.size() > LimitedCache.this.capacity;
+			}
+		};
+	}
+
+	/**
+	 * Return the cached value or null if not cached
+	 *
+	 * @param key
+	 * @return
+	 */
+	public V get(final K key) {
+		final V value;
+
+		synchronized (this.delegate) {
+			value = this.delegate.get(key);
+		}
+
+		(value != null ? this.hits : this.misses).incrementAndGet();
+
+		return value;
+	}
+
+	/**
+	 * Return the cached value, or compute it using the given function and cache it.
+	 * Null values are not cached.
+	 *
+	 * @param key
+	 * @param loader
+	 * @return
+	 */
+	public V get(final K key, final Function<K, V> loader) {
+		V value = this.get(key);
+
+		if (value == null) {
+			value = loader.apply(key);
+
+			if (value != null)
+				this.put(key, value);
+		}
+
+		return value;
+	}
+
+	/**
+	 * Cache the given value
+	 *
+	 * @param key
+	 * @param value
+	 */
+	public void put(final K key, final V value) {
+		synchronized (this.delegate) {
+			this.delegate.put(key, value);
+		}
+	}
+
+	/**
+	 * Remove the given key from the cache
+	 *
+	 * @param key
+	 * @return the removed value or null
+	 */
+	public V remove(final K key) {
+		synchronized (this.delegate) {
+			return this.delegate.remove(key);
+		}
+	}
+
+	/**
+	 * Remove all cached values and reset the counters
+	 */
+	public void clear() {
+		synchronized (this.delegate) {
+			this.delegate.clear();
+		}
+
+		this.hits.set(0);
+		this.misses.set(0);
+	}
+
+	/**
+	 * Return how many values are cached
+	 *
+	 * @return
+	 */
+	public int size() {
+		synchronized (this.delegate) {
+			return this.delegate.size();
+		}
+	}
+
+	/**
+	 * Return how many lookups found a cached value
+	 *
+	 * @return
+	 */
+	public long getHits() {
+		return this.hits.get();
+	}
+
+	/**
+	 * Return how many lookups did not find a cached value
+	 *
+	 * @return
+	 */
+	public long getMisses() {
+		return this.misses.get();
+	}
+
+	@Override
+	public String toString() {
+		return "LimitedCache{size=" + this.size() + "/" + this.capacity + ", hits=" + this.getHits() + ", misses=" + this.getMisses() + "}";
+	}
+}
@@ -11,6 +11,7 @@ import org.bukkit.Bukkit;
 import org.mineacademy.fo.Common;
 import org.mineacademy.fo.FileUtil;
 import org.mineacademy.fo.TimeUtil;
+import org.mineacademy.fo.debug.TaskProfiler;
 import org.mineacademy.fo.plugin.SimplePlugin;
 import org.mineacademy.fo.remain.Remain;
 import org.mineacademy.fo.settings.SimpleLocalization;
@@ -46,10 +47,17 @@ public final class DebugCommand extends SimpleSubCommand {
 		super("debug");
 
 		this.setDescription("ZIP your settings for reporting bugs.");
+		this.setUsage("[tasks [on|off|reset|<amount>]]");
 	}
 
 	@Override
 	protected void onCommand() {
+		if (this.args.length > 0 && "tasks".equalsIgnoreCase(this.args[0])) {
+			this.handleTasks();
+
+			return;
+		}
+
 		this.tell(SimpleLocalization.Commands.DEBUG_PREPARING);
 
 		final File debugFolder = FileUtil.getFile("debug");
@@ -70,6 +78,30 @@ public final class DebugCommand extends SimpleSubCommand {
 		this.tell(SimpleLocalization.Commands.DEBUG_SUCCESS.replace("{amount}", String.valueOf(files.size())));
 	}
 
+	/*
+	 * Toggle the task profiler or show tasks that took the longest
+	 */
+	private void handleTasks() {
+		final String param = this.args.length > 1 ? this.args[1].toLowerCase() : "";
+
+		if ("on".equals(param) || "off".equals(param)) {
+			TaskProfiler.setEnabled("on".equals(param));
+
+			this.returnTell("Task profiler is now " + ("on".equals(param) ? "enabled, tasks scheduled from now on will be measured." : "disabled."));
+		}
+
+		if ("reset".equals(param)) {
+			TaskProfiler.reset();
+
+			this.returnTell("Task profiler statistics have been reset.");
+		}
+
+		final int amount = param.isEmpty() ? 10 : this.findNumber(1, 1, 100, "Usage: /{label} {sublabel} tasks [on|off|reset|<amount>]");
+
+		for (final String line : TaskProfiler.getReport(amount))
+			this.tell(line);
+	}
+
 	/*
 	 * Write our own debug information
 	 */
@@ -87,6 +119,10 @@ public final class DebugCommand extends SimpleSubCommand {
 				"Plugins: " + Common.join(Bukkit.getPluginManager().getPlugins(), ", ", plugin -> plugin.getDescription().getFullName()));
 
 		lines.addAll(debugLines);
+
+		if (TaskProfiler.isEnabled())
+			lines.addAll(TaskProfiler.getReport(50));
+
 		FileUtil.write("debug/general.txt", lines);
 	}
 
@@ -167,6 +203,12 @@ public final class DebugCommand extends SimpleSubCommand {
 	 */
 	@Override
 	protected List<String> tabComplete() {
+		if (this.args.length == 1)
+			return this.completeLastWord("tasks");
+
+		if (this.args.length == 2 && "tasks".equalsIgnoreCase(this.args[0]))
+			return this.completeLastWord("on", "off", "reset");
+
 		return NO_COMPLETE;
 	}
 
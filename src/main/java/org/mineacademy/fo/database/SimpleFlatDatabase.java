@@ -16,6 +16,7 @@ import org.mineacademy.fo.Valid;
 import org.mineacademy.fo.collection.SerializedMap;
 import org.mineacademy.fo.debug.Debugger;
 import org.mineacademy.fo.debug.LagCatcher;
+import org.mineacademy.fo.model.MainThreadQueue;
 import org.mineacademy.fo.settings.SimpleSettings;
 
 import lombok.NonNull;
@@ -154,7 +155,7 @@ public abstract class SimpleFlatDatabase<T> extends SimpleDatabase {
 				final String dataRaw = resultSet.next() ? resultSet.getString("Data") : "{}";
 				Debugger.debug("mysql", "JSON: " + dataRaw);
 
-				Common.runLater(() -> {
+				MainThreadQueue.submit(() -> {
 
 					try {
 						final SerializedMap data = SerializedMap.fromJson(dataRaw);
@@ -278,7 +279,7 @@ public abstract class SimpleFlatDatabase<T> extends SimpleDatabase {
 					this.update("INSERT INTO {table}(UUID, Name, Data, Updated) VALUES ('" + uuid + "', '" + name + "', '" + data.toJson() + "', '" + System.currentTimeMillis() + "');");
 
 				if (runAfterSave != null)
-					Common.runLater(() -> runAfterSave.run());
+					MainThreadQueue.submit(runAfterSave);
 
 			} catch (final Throwable ex) {
 				Common.error(ex,
@@ -0,0 +1,271 @@
+package org.mineacademy.fo.debug;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.bukkit.scheduler.BukkitRunnable;
+import org.mineacademy.fo.Common;
+import org.mineacademy.fo.MathUtil;
+import org.mineacademy.fo.Valid;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * An opt-in profiler for tasks scheduled through {@link Common#runLater(int, Runnable)},
+ * {@link Common#runTimer(int, int, Runnable)}, {@link Common#runAsync(Runnable)} and their variants.
+ * <p>
+ * When enabled, each task scheduled afterwards records how many times it ran and how long it took,
+ * grouped by where it was scheduled from. Runs taking longer than the warn threshold are logged.
+ * Disabled by default since finding the call site requires a stack trace for each scheduled task.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class TaskProfiler {
+
+	/**
+	 * How often can we warn about the same slow task
+	 */
+	private static final long WARN_INTERVAL_MILLIS = TimeUnit.SECONDS.toMillis(10);
+
+	/**
+	 * Statistics by task type and the place it was scheduled from
+	 */
+	private static final Map<String, TaskStats> stats = new ConcurrentHashMap<>();
+
+	/**
+	 * Are new tasks being profiled?
+	 */
+	@Getter
+	private static volatile boolean enabled = false;
+
+	/**
+	 * Runs taking longer than this are logged to the console
+	 */
+	@Getter
+	private static volatile int warnThresholdMillis = 50;
+
+	/**
+	 * Start or stop profiling tasks scheduled from now on,
+	 * already scheduled tasks keep their current state
+	 *
+	 * @param enabled
+	 */
+	public static void setEnabled(boolean enabled) {
+		TaskProfiler.enabled = enabled;
+	}
+
+	/**
+	 * Set how many milliseconds a single run may take before we log it
+	 *
+	 * @param warnThresholdMillis
+	 */
+	public static void setWarnThresholdMillis(int warnThresholdMillis) {
+		Valid.checkBoolean(warnThresholdMillis > 0, "Warn threshold must be above 0 ms, got " + warnThresholdMillis);
+
+		TaskProfiler.warnThresholdMillis = warnThresholdMillis;
+	}
+
+	/**
+	 * Wrap the task to record its statistics if profiling is enabled, otherwise
+	 * return it unchanged. Bukkit runnables are returned unchanged since they
+	 * schedule themselves.
+	 *
+	 * @param task
+	 * @param type the type of the task, such as "Sync" or "Async timer"
+	 * @return
+	 */
+	public static Runnable wrap(Runnable task, String type) {
+		if (!enabled || task instanceof BukkitRunnable || task instanceof ProfiledTask)
+			return task;
+
+		final String callSite = findCallSite();
+
+		return new ProfiledTask(task, stats.computeIfAbsent(type + " " + callSite, key -> new TaskStats(type, callSite)));
+	}
+
+	/**
+	 * Return statistics of the given amount of tasks that took the longest in total
+	 *
+	 * @param amount
+	 * @return
+	 */
+	public static List<TaskStats> getTopTasks(int amount) {
+		final List<TaskStats> sorted = new ArrayList<>(stats.values());
+
+		sorted.sort(Comparator.comparingLong(TaskStats::getTotalNanos).reversed());
+
+		return sorted.size() > amount ? new ArrayList<>(sorted.subList(0, amount)) : sorted;
+	}
+
+	/**
+	 * Return a human readable report of the given amount of tasks that took the longest in total
+	 *
+	 * @param amount
+	 * @return
+	 */
+	public static List<String> getReport(int amount) {
+		final List<TaskStats> top = getTopTasks(amount);
+		final List<String> lines = new ArrayList<>();
+
+		lines.add("Task profiler is " + (enabled ? "enabled" : "disabled") + ", warning over " + warnThresholdMillis + " ms. Tracking " + stats.size() + " task(s).");
+
+		for (int i = 0; i < top.size(); i++)
+			lines.add("#" + (i + 1) + " " + top.get(i));
+
+		return lines;
+	}
+
+	/**
+	 * Forget all statistics collected so far
+	 */
+	public static void reset() {
+		stats.clear();
+	}
+
+	/*
+	 * Return the first class and method in the stack trace outside of the scheduling code
+	 */
+	private static String findCallSite() {
+		for (final String path : Debugger.traceRoute(true))
+			if (!path.startsWith("TaskProfiler#") && !path.startsWith("Common#") && !path.startsWith("SimpleRunnable#") && !path.startsWith("SimpleTask#"))
+				return path;
+
+		return "unknown";
+	}
+
+	/*
+	 * Record how long a single run took, warning if it was too slow
+	 */
+	private static void record(TaskStats taskStats, long nanos) {
+		taskStats.invocations.incrementAndGet();
+		taskStats.totalNanos.addAndGet(nanos);
+		taskStats.maxNanos.accumulateAndGet(nanos, Math::max);
+
+		if (nanos > TimeUnit.MILLISECONDS.toNanos(warnThresholdMillis)) {
+			taskStats.slowRuns.incrementAndGet();
+
+			final long now = System.currentTimeMillis();
+			final long lastWarn = taskStats.lastWarnMillis.get();
+
+			if (now - lastWarn > WARN_INTERVAL_MILLIS && taskStats.lastWarnMillis.compareAndSet(lastWarn, now))
+				Common.warning(taskStats.getType() + " task scheduled from " + taskStats.getCallSite() + " took " + MathUtil.formatTwoDigits(nanos / 1_000_000D)
+						+ " ms (threshold " + warnThresholdMillis + " ms, " + taskStats.slowRuns.get() + " slow run(s) so far)");
+		}
+	}
+
+	/**
+	 * Statistics of all tasks of the same type scheduled from the same place
+	 */
+	@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+	public static final class TaskStats {
+
+		/**
+		 * The type of the task, such as "Sync" or "Async timer"
+		 */
+		@Getter
+		private final String type;
+
+		/**
+		 * The class, method and line the task was scheduled from
+		 */
+		@Getter
+		private final String callSite;
+
+		/*
+		 * The counters, updated from any thread
+		 */
+		private final AtomicLong invocations = new AtomicLong();
+		private final AtomicLong totalNanos = new AtomicLong();
+		private final AtomicLong maxNanos = new AtomicLong();
+		private final AtomicLong slowRuns = new AtomicLong();
+		private final AtomicLong lastWarnMillis = new AtomicLong();
+
+		/**
+		 * Return how many times the tasks ran
+		 *
+		 * @return
+		 */
+		public long getInvocations() {
+			return this.invocations.get();
+		}
+
+		/**
+		 * Return how long all runs took together in nanoseconds
+		 *
+		 * @return
+		 */
+		public long getTotalNanos() {
+			return this.totalNanos.get();
+		}
+
+		/**
+		 * Return how long the longest run took in nanoseconds
+		 *
+		 * @return
+		 */
+		public long getMaxNanos() {
+			return this.maxNanos.get();
+		}
+
+		/**
+		 * Return how many runs took longer than the warn threshold
+		 *
+		 * @return
+		 */
+		public long getSlowRuns() {
+			return this.slowRuns.get();
+		}
+
+		/**
+		 * Return how long a run took on average in milliseconds
+		 *
+		 * @return
+		 */
+		public double getAverageMillis() {
+			final long invocations = this.getInvocations();
+
+			return invocations == 0 ? 0 : this.getTotalNanos() / 1_000_000D / invocations;
+		}
+
+		@Override
+		public String toString() {
+			return this.type + " " + this.callSite + ": " + this.getInvocations() + " run(s), total " + MathUtil.formatTwoDigits(this.getTotalNanos() / 1_000_000D)
+					+ " ms, avg " + MathUtil.formatTwoDigits(this.getAverageMillis()) + " ms, max " + MathUtil.formatTwoDigits(this.getMaxNanos() / 1_000_000D) + " ms"
+					+ (this.getSlowRuns() > 0 ? ", " + this.getSlowRuns() + " slow" : "");
+		}
+	}
+
+	/*
+	 * A task recording its statistics each time it runs
+	 */
+	@RequiredArgsConstructor
+	private static final class ProfiledTask implements Runnable {
+
+		private final Runnable task;
+		private final TaskStats taskStats;
+
+		@Override
+		public void run() {
+			final long start = System.nanoTime();
+
+			try {
+				this.task.run();
+
+			} finally {
+				record(this.taskStats, System.nanoTime() - start);
+			}
+		}
+
+		@Override
+		public String toString() {
+			return this.task.toString();
+		}
+	}
+}
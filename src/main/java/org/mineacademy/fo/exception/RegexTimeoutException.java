@@ -1,5 +1,9 @@
 package org.mineacademy.fo.exception;
 
+import java.util.regex.Pattern;
+
+import javax.annotation.Nullable;
+
 import lombok.Getter;
 
 /**
@@ -21,8 +25,21 @@ public final class RegexTimeoutException extends RuntimeException {
 	 */
 	private final long executionLimit;
 
+	/**
+	 * The expression that was being evaluated, or null if unknown
+	 */
+	@Nullable
+	private final String pattern;
+
 	public RegexTimeoutException(CharSequence checkedMessage, long timeoutLimit) {
+		this(checkedMessage, timeoutLimit, null);
+	}
+
+	public RegexTimeoutException(CharSequence checkedMessage, long timeoutLimit, @Nullable Pattern pattern) {
+		super("Regular expression " + (pattern == null ? "" : "'" + pattern.pattern() + "' ") + "exceeded " + timeoutLimit + "ms limit");
+
 		this.checkedMessage = checkedMessage.toString();
 		this.executionLimit = timeoutLimit;
+		this.pattern = pattern == null ? null : pattern.pattern();
 	}
 }
\ No newline at end of file
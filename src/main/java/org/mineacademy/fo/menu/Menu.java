@@ -38,7 +38,7 @@ import org.mineacademy.fo.menu.button.annotation.Position;
 import org.mineacademy.fo.menu.model.InventoryDrawer;
 import org.mineacademy.fo.menu.model.ItemCreator;
 import org.mineacademy.fo.menu.model.MenuClickLocation;
-import org.mineacademy.fo.model.SimpleRunnable;
+import org.mineacademy.fo.model.SimpleAnimation;
 import org.mineacademy.fo.model.SimpleSound;
 import org.mineacademy.fo.plugin.SimplePlugin;
 import org.mineacademy.fo.remain.CompMaterial;
@@ -828,7 +828,8 @@ public abstract class Menu {
 	 * Start a repetitive task with the given period in ticks on the main thread,
 	 * that is automatically stopped if the viewer no longer sees this menu.
 	 *
-	 * Can impose a performance penalty. Use cancel() to cancel.
+	 * Menu animations are advanced from one shared task and spread across ticks,
+	 * see {@link SimpleAnimation}. Use cancel() to cancel.
 	 *
 	 * IMPORTANT TIPS:
 	 *
@@ -845,7 +846,7 @@ public abstract class Menu {
 	protected final void animate(final int periodTicks, final MenuRunnable task) {
 		Valid.checkNotNull(this.viewer, "Cannot call animate() before the menu is shown, call your method in onDisplay() method instead.");
 
-		Common.runTimer(2, periodTicks, this.wrapAnimation(task));
+		this.wrapAnimation(task).runTimer(2, periodTicks);
 	}
 
 	/**
@@ -869,36 +870,30 @@ public abstract class Menu {
 	protected final void animateAsync(final int periodTicks, final MenuRunnable task) {
 		Valid.checkNotNull(this.viewer, "Cannot call animate() before the menu is shown, call your method in onDisplay() method instead.");
 
-		Common.runTimerAsync(2, periodTicks, this.wrapAnimation(task));
+		this.wrapAnimation(task).runTimerAsync(2, periodTicks);
 	}
 
 	/*
-	 * Helper method to create a bukkit runnable
+	 * Helper method to create an animation stopping when the menu is closed
 	 */
-	private SimpleRunnable wrapAnimation(final MenuRunnable task) {
-		return new SimpleRunnable() {
-			boolean canceled = false;
+	private SimpleAnimation wrapAnimation(final MenuRunnable task) {
+		return new SimpleAnimation(this.viewer) {
 
 			@Override
-			public void run() {
-
-				if (!Menu.this.opened) {
-					if (!this.canceled)
-						this.cancel();
-
-					return;
-				}
+			protected boolean isActive() {
+				return super.isActive() && Menu.this.opened;
+			}
 
+			@Override
+			public void run() {
 				try {
 					task.run();
 
 				} catch (final EventHandledException ex) {
-					this.canceled = true;
-
 					this.cancel();
 				}
 			}
-		};
+		}.setSpread(true);
 	}
 
 	/**
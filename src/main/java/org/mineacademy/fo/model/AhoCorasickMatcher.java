@@ -0,0 +1,403 @@
+package org.mineacademy.fo.model;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.function.IntPredicate;
+
+import org.mineacademy.fo.Valid;
+
+import lombok.Getter;
+
+/**
+ * A compiled automaton finding many substrings at once in a single scan
+ * of the text, regardless of how many substrings there are.
+ * <p>
+ * Build it once when loading your settings and reuse it, matching does not allocate.
+ * Instances are immutable and thread-safe.
+ */
+public final class AhoCorasickMatcher {
+
+	/**
+	 * The substrings we search for, in the order given
+	 */
+	@Getter
+	private final List<String> needles;
+
+	/**
+	 * Should we ignore case when matching?
+	 */
+	@Getter
+	private final boolean caseInsensitive;
+
+	/**
+	 * Were needles inserted backwards so that we read texts from their end?
+	 * See {@link #compileSuffixes(Collection, boolean)}
+	 */
+	@Getter
+	private final boolean reversed;
+
+	/**
+	 * Sorted transition characters for each state
+	 */
+	private final char[][] transitionChars;
+
+	/**
+	 * Target states for each transition character
+	 */
+	private final int[][] transitionStates;
+
+	/**
+	 * The state to fall back to when a transition is missing
+	 */
+	private final int[] failures;
+
+	/**
+	 * Indexes of needles ending in each state, including those ending in its failure states
+	 */
+	private final int[][] outputs;
+
+	/**
+	 * Needle indexes which end exactly at each state, -1 if none
+	 */
+	private final int[] terminals;
+
+	/**
+	 * The index of an empty needle matching everything, or -1
+	 */
+	private final int emptyNeedle;
+
+	/*
+	 * Create a new automaton, see compile()
+	 */
+	private AhoCorasickMatcher(List<String> needles, boolean caseInsensitive, boolean reversed) {
+		this.needles = needles;
+		this.caseInsensitive = caseInsensitive;
+		this.reversed = reversed;
+
+		final List<TreeMap<Character, Integer>> transitions = new ArrayList<>();
+		final List<List<Integer>> outputs = new ArrayList<>();
+		final List<Integer> terminals = new ArrayList<>();
+		int emptyNeedle = -1;
+
+		transitions.add(new TreeMap<>());
+		outputs.add(new ArrayList<>());
+		terminals.add(-1);
+
+		// Build the trie
+		for (int index = 0; index < needles.size(); index++) {
+			final String needle = needles.get(index);
+			int state = 0;
+
+			if (needle.isEmpty() && emptyNeedle == -1)
+				emptyNeedle = index;
+
+			for (int i = 0; i < needle.length(); i++) {
+				final char character = this.charAt(needle, i);
+				Integer next = transitions.get(state).get(character);
+
+				if (next == null) {
+					next = transitions.size();
+
+					transitions.get(state).put(character, next);
+					transitions.add(new TreeMap<>());
+					outputs.add(new ArrayList<>());
+					terminals.add(-1);
+				}
+
+				state = next;
+			}
+
+			if (!needle.isEmpty()) {
+				outputs.get(state).add(index);
+
+				if (terminals.get(state) == -1)
+					terminals.set(state, index);
+			}
+		}
+
+		final int size = transitions.size();
+
+		this.transitionChars = new char[size][];
+		this.transitionStates = new int[size][];
+		this.failures = new int[size];
+		this.outputs = new int[size][];
+		this.terminals = new int[size];
+		this.emptyNeedle = emptyNeedle;
+
+		for (int state = 0; state < size; state++) {
+			final TreeMap<Character, Integer> stateTransitions = transitions.get(state);
+			final char[] chars = new char[stateTransitions.size()];
+			final int[] states = new int[stateTransitions.size()];
+			int i = 0;
+
+			for (final Map.Entry<Character, Integer> entry : stateTransitions.entrySet()) {
+				chars[i] = entry.getKey();
+				states[i] = entry.getValue();
+
+				i++;
+			}
+
+			this.transitionChars[state] = chars;
+			this.transitionStates[state] = states;
+			this.terminals[state] = terminals.get(state);
+		}
+
+		// Compute failure links breadth first so that shorter states are always resolved first
+		final Queue<Integer> queue = new ArrayDeque<>();
+
+		for (final int child : this.transitionStates[0])
+			queue.add(child);
+
+		while (!queue.isEmpty()) {
+			final int state = queue.poll();
+
+			for (int i = 0; i < this.transitionChars[state].length; i++) {
+				final char character = this.transitionChars[state][i];
+				final int child = this.transitionStates[state][i];
+				int failure = this.failures[state];
+
+				while (failure != 0 && this.next(failure, character) == -1)
+					failure = this.failures[failure];
+
+				final int failureTarget = this.next(failure, character);
+
+				this.failures[child] = failureTarget == -1 || failureTarget == child ? 0 : failureTarget;
+				outputs.get(child).addAll(outputs.get(this.failures[child]));
+
+				queue.add(child);
+			}
+		}
+
+		for (int state = 0; state < size; state++) {
+			final List<Integer> stateOutputs = outputs.get(state);
+			final int[] array = new int[stateOutputs.size()];
+
+			for (int i = 0; i < array.length; i++)
+				array[i] = stateOutputs.get(i);
+
+			this.outputs[state] = array;
+		}
+	}
+
+	/**
+	 * Return true if any of the needles is contained within the text
+	 *
+	 * @param text
+	 * @return
+	 */
+	public boolean find(CharSequence text) {
+		return this.findFirst(text) != -1;
+	}
+
+	/**
+	 * Return the index of the needle found first in the text,
+	 * or -1 if none is contained within
+	 *
+	 * @param text
+	 * @return
+	 */
+	public int findFirst(CharSequence text) {
+		if (this.emptyNeedle != -1)
+			return this.emptyNeedle;
+
+		int state = 0;
+
+		for (int i = 0; i < text.length(); i++) {
+			state = this.step(state, this.charAt(text, i));
+
+			if (this.outputs[state].length > 0)
+				return this.outputs[state][0];
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Report indexes of all needles found in the text to the given consumer,
+	 * stopping when it returns false. Needles found multiple times are reported
+	 * multiple times.
+	 *
+	 * @param text
+	 * @param consumer
+	 */
+	public void findAll(CharSequence text, IntPredicate consumer) {
+		if (this.emptyNeedle != -1)
+			if (!consumer.test(this.emptyNeedle))
+				return;
+
+		int state = 0;
+
+		for (int i = 0; i < text.length(); i++) {
+			state = this.step(state, this.charAt(text, i));
+
+			for (final int needle : this.outputs[state])
+				if (!consumer.test(needle))
+					return;
+		}
+	}
+
+	/**
+	 * Return true if the text starts with any of the needles
+	 *
+	 * @param text
+	 * @return
+	 */
+	public boolean startsWithAny(CharSequence text) {
+		Valid.checkBoolean(!this.reversed, "Use endsWithAny for matchers compiled from suffixes");
+
+		return this.matchesBeginning(text);
+	}
+
+	/**
+	 * Return true if the text ends with any of the needles,
+	 * only works for matchers from {@link #compileSuffixes(Collection, boolean)}
+	 *
+	 * @param text
+	 * @return
+	 */
+	public boolean endsWithAny(CharSequence text) {
+		Valid.checkBoolean(this.reversed, "Use compileSuffixes to match text endings");
+
+		return this.matchesBeginning(text);
+	}
+
+	/*
+	 * Return true if any needle is found at the position we start reading the text from
+	 */
+	private boolean matchesBeginning(CharSequence text) {
+		if (this.emptyNeedle != -1)
+			return true;
+
+		int state = 0;
+
+		for (int i = 0; i < text.length(); i++) {
+			state = this.next(state, this.charAt(text, i));
+
+			if (state == -1)
+				return false;
+
+			if (this.terminals[state] != -1)
+				return true;
+		}
+
+		return false;
+	}
+
+	/**
+	 * Return true if any of the needles starts with the given text
+	 *
+	 * @param text
+	 * @return
+	 */
+	public boolean isPrefixOfAny(CharSequence text) {
+		Valid.checkBoolean(!this.reversed, "Cannot match prefixes with matchers compiled from suffixes");
+
+		if (this.needles.isEmpty())
+			return false;
+
+		int state = 0;
+
+		for (int i = 0; i < text.length(); i++) {
+			state = this.next(state, this.charAt(text, i));
+
+			if (state == -1)
+				return false;
+		}
+
+		return true;
+	}
+
+	/**
+	 * Return true if there are no needles
+	 *
+	 * @return
+	 */
+	public boolean isEmpty() {
+		return this.needles.isEmpty();
+	}
+
+	/*
+	 * Follow the transition or failure links until we find a match or return to root
+	 */
+	private int step(int state, char character) {
+		while (true) {
+			final int next = this.next(state, character);
+
+			if (next != -1)
+				return next;
+
+			if (state == 0)
+				return 0;
+
+			state = this.failures[state];
+		}
+	}
+
+	/*
+	 * Return the state we transition to from the given state, or -1
+	 */
+	private int next(int state, char character) {
+		final int index = Arrays.binarySearch(this.transitionChars[state], character);
+
+		return index < 0 ? -1 : this.transitionStates[state][index];
+	}
+
+	/*
+	 * Return the folded character at the given index, reading from the end if reversed
+	 */
+	private char charAt(CharSequence text, int index) {
+		return this.fold(text.charAt(this.reversed ? text.length() - 1 - index : index));
+	}
+
+	/*
+	 * Fold the character case the same way regular expressions do
+	 */
+	private char fold(char character) {
+		return this.caseInsensitive ? Character.toLowerCase(Character.toUpperCase(character)) : character;
+	}
+
+	@Override
+	public String toString() {
+		return "AhoCorasickMatcher{needles=" + this.needles.size() + ", states=" + this.failures.length + ", caseInsensitive=" + this.caseInsensitive + ", reversed=" + this.reversed + "}";
+	}
+
+	/**
+	 * Compile a new case sensitive automaton from the given substrings
+	 *
+	 * @param needles
+	 * @return
+	 */
+	public static AhoCorasickMatcher compile(Collection<String> needles) {
+		return compile(needles, false);
+	}
+
+	/**
+	 * Compile a new automaton from the given substrings
+	 *
+	 * @param needles
+	 * @param caseInsensitive
+	 * @return
+	 */
+	public static AhoCorasickMatcher compile(Collection<String> needles, boolean caseInsensitive) {
+		return new AhoCorasickMatcher(Collections.unmodifiableList(new ArrayList<>(needles)), caseInsensitive, false);
+	}
+
+	/**
+	 * Compile a new automaton reading texts from their end, use {@link #endsWithAny(CharSequence)}
+	 * to evaluate if texts end with any of the given substrings
+	 *
+	 * @param needles
+	 * @param caseInsensitive
+	 * @return
+	 */
+	public static AhoCorasickMatcher compileSuffixes(Collection<String> needles, boolean caseInsensitive) {
+		return new AhoCorasickMatcher(Collections.unmodifiableList(new ArrayList<>(needles)), caseInsensitive, true);
+	}
+}
@@ -0,0 +1,240 @@
+package org.mineacademy.fo.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.bukkit.scheduler.BukkitTask;
+import org.mineacademy.fo.Common;
+
+/**
+ * A hashed timing wheel advancing all {@link SimpleAnimation}s from a single
+ * repeating task, instead of each of them having its own scheduler entry.
+ * <p>
+ * Animations are put into one of {@link #WHEEL_SIZE} buckets by the tick they
+ * should run at, so each tick we only look at animations due now. Animations
+ * further away than one turn of the wheel wait for the amount of turns left.
+ */
+final class AnimationTimingWheel {
+
+	/**
+	 * The amount of buckets, must be a power of two
+	 */
+	private static final int WHEEL_SIZE = 256;
+
+	/**
+	 * Mask to get the bucket from a tick
+	 */
+	private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+
+	/**
+	 * The wheel for animations running on the main thread
+	 */
+	static final AnimationTimingWheel SYNC = new AnimationTimingWheel(false);
+
+	/**
+	 * The wheel for animations running off the main thread
+	 */
+	static final AnimationTimingWheel ASYNC = new AnimationTimingWheel(true);
+
+	/**
+	 * Does this wheel tick off the main thread?
+	 */
+	private final boolean async;
+
+	/**
+	 * Animations by the tick they run at modulo wheel size
+	 */
+	private final List<List<SimpleAnimation>> buckets = new ArrayList<>(WHEEL_SIZE);
+
+	/**
+	 * Animations running this tick, reused to avoid allocation
+	 */
+	private final List<SimpleAnimation> due = new ArrayList<>();
+
+	/**
+	 * Prevents async ticks from overlapping if one takes longer than a tick
+	 */
+	private final AtomicBoolean ticking = new AtomicBoolean(false);
+
+	/**
+	 * The next tick to process
+	 */
+	private long tick = 0;
+
+	/**
+	 * Incremented when the wheel is cleared so that animations running in the meanwhile are not put back
+	 */
+	private long epoch = 0;
+
+	/**
+	 * How many animations are in the buckets
+	 */
+	private int size = 0;
+
+	/**
+	 * The repeating task ticking this wheel, null when there is nothing to animate
+	 */
+	private BukkitTask task;
+
+	/*
+	 * Create a new empty wheel
+	 */
+	private AnimationTimingWheel(boolean async) {
+		this.async = async;
+
+		for (int i = 0; i < WHEEL_SIZE; i++)
+			this.buckets.add(new ArrayList<>());
+	}
+
+	/*
+	 * Add the animation to run after the given delay, starting the ticking task if needed
+	 */
+	synchronized void schedule(SimpleAnimation animation, long delay) {
+		if (animation.isSpread()) {
+			final long window = Math.min(animation.period, WHEEL_SIZE);
+			long leastBusyDelay = delay;
+			int leastBusySize = Integer.MAX_VALUE;
+
+			for (long candidate = delay; candidate < delay + window; candidate++) {
+				final int bucketSize = this.buckets.get(this.getBucket(candidate)).size();
+
+				if (bucketSize < leastBusySize) {
+					leastBusyDelay = candidate;
+					leastBusySize = bucketSize;
+				}
+			}
+
+			delay = leastBusyDelay;
+		}
+
+		this.insert(animation, delay);
+
+		if (this.task == null)
+			this.task = this.async ? Common.runTimerAsync(1, this::tick) : Common.runTimer(1, this::tick);
+	}
+
+	/*
+	 * Return how many animations are scheduled
+	 */
+	synchronized int size() {
+		return this.size;
+	}
+
+	/*
+	 * Cancel all animations and the ticking task
+	 */
+	synchronized void clear() {
+		for (final List<SimpleAnimation> bucket : this.buckets) {
+			for (final SimpleAnimation animation : bucket)
+				animation.cancel();
+
+			bucket.clear();
+		}
+
+		this.size = 0;
+		this.epoch++;
+
+		if (this.task != null) {
+			this.task.cancel();
+
+			this.task = null;
+		}
+	}
+
+	/*
+	 * Run animations due this tick and put them back for their next frame
+	 */
+	private void tick() {
+		if (!this.ticking.compareAndSet(false, true))
+			return;
+
+		try {
+			final long epoch;
+
+			synchronized (this) {
+				final List<SimpleAnimation> bucket = this.buckets.get((int) (this.tick & WHEEL_MASK));
+
+				this.tick++;
+				epoch = this.epoch;
+
+				for (int i = 0; i < bucket.size();) {
+					final SimpleAnimation animation = bucket.get(i);
+
+					if (!animation.isCancelled() && animation.rounds > 0) {
+						animation.rounds--;
+						i++;
+
+						continue;
+					}
+
+					// Swap remove, order within a tick does not matter
+					bucket.set(i, bucket.get(bucket.size() - 1));
+					bucket.remove(bucket.size() - 1);
+					this.size--;
+
+					if (!animation.isCancelled())
+						this.due.add(animation);
+				}
+			}
+
+			for (final SimpleAnimation animation : this.due)
+				try {
+					if (animation.isActive())
+						animation.run();
+					else
+						animation.cancel();
+
+				} catch (final Throwable t) {
+					animation.cancel();
+
+					Common.error(t,
+							"Error running animation " + animation,
+							"%error",
+							"Cancelling it for safety.");
+				}
+
+			synchronized (this) {
+				for (final SimpleAnimation animation : this.due)
+					if (animation.isCancelled())
+						continue;
+
+					else if (epoch != this.epoch)
+						animation.cancel();
+
+					else
+						this.insert(animation, animation.period);
+
+				this.due.clear();
+
+				if (this.size == 0 && this.task != null) {
+					this.task.cancel();
+
+					this.task = null;
+				}
+			}
+
+		} finally {
+			this.ticking.set(false);
+		}
+	}
+
+	/*
+	 * Put the animation into the bucket for the given delay, a delay of 1 or less runs it on the next tick
+	 */
+	private void insert(SimpleAnimation animation, long delay) {
+		final long distance = Math.max(1, delay) - 1;
+
+		animation.rounds = (int) (distance / WHEEL_SIZE);
+
+		this.buckets.get(this.getBucket(delay)).add(animation);
+		this.size++;
+	}
+
+	/*
+	 * Return the bucket index of the tick after the given delay
+	 */
+	private int getBucket(long delay) {
+		return (int) ((this.tick + Math.max(1, delay) - 1) & WHEEL_MASK);
+	}
+}
@@ -0,0 +1,178 @@
+package org.mineacademy.fo.model;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.mineacademy.fo.Common;
+import org.mineacademy.fo.plugin.SimplePlugin;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * The executor running async tasks without delay, see {@link Common#runAsync(Runnable)}.
+ * <p>
+ * On Java 21 and newer each task gets its own virtual thread, so blocking calls
+ * such as database queries or HTTP requests are cheap to run concurrently.
+ * On older Java versions we use a bounded pool of platform threads.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class AsyncExecutor {
+
+	/**
+	 * How long to wait for running tasks to finish when the plugin is disabled
+	 */
+	private static final int SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+	/**
+	 * The executor, created when first used
+	 */
+	private static ExecutorService executor;
+
+	/**
+	 * Do we run tasks on virtual threads?
+	 */
+	private static boolean virtual = false;
+
+	/**
+	 * Run the task off the main thread right away, logging errors
+	 *
+	 * @param task
+	 * @return the future you can use to cancel the task
+	 */
+	public static Future<?> execute(Runnable task) {
+		final FutureTask<?> future = prepare(task);
+
+		start(future);
+		return future;
+	}
+
+	/**
+	 * Wrap the task into a future logging errors without running it yet, so that
+	 * you can hand the future out before the task starts, see {@link #start(FutureTask)}
+	 *
+	 * @param task
+	 * @return the future you can use to cancel the task
+	 */
+	public static FutureTask<?> prepare(Runnable task) {
+		return new FutureTask<>(() -> {
+			try {
+				task.run();
+
+			} catch (final Throwable t) {
+				Common.error(t, "Error running async task " + task);
+			}
+		}, null);
+	}
+
+	/**
+	 * Run the future created by {@link #prepare(Runnable)} off the main thread right away
+	 *
+	 * @param future
+	 */
+	public static void start(FutureTask<?> future) {
+		getExecutor().execute(future);
+	}
+
+	/**
+	 * Return true if tasks run on virtual threads
+	 *
+	 * @return
+	 */
+	public static synchronized boolean isVirtual() {
+		getExecutor();
+
+		return virtual;
+	}
+
+	/**
+	 * Wait for running tasks to finish and stop the executor, called when the plugin is disabled
+	 *
+	 * @deprecated internal use only
+	 */
+	@Deprecated
+	public static void shutdown() {
+		final ExecutorService oldExecutor;
+
+		synchronized (AsyncExecutor.class) {
+			oldExecutor = executor;
+			executor = null;
+		}
+
+		if (oldExecutor == null)
+			return;
+
+		oldExecutor.shutdown();
+
+		try {
+			if (!oldExecutor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+				Common.log("Async tasks did not finish in " + SHUTDOWN_TIMEOUT_SECONDS + " seconds, interrupting them.");
+
+				oldExecutor.shutdownNow();
+			}
+
+		} catch (final InterruptedException ex) {
+			oldExecutor.shutdownNow();
+
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/*
+	 * Return the executor, creating it if needed
+	 */
+	private static synchronized ExecutorService getExecutor() {
+		if (executor == null) {
+			executor = createVirtualExecutor();
+			virtual = executor != null;
+
+			if (executor == null)
+				executor = createPlatformExecutor();
+		}
+
+		return executor;
+	}
+
+	/*
+	 * Create a virtual thread per task executor on Java 21+, or return null
+	 */
+	private static ExecutorService createVirtualExecutor() {
+		final String version = System.getProperty("java.specification.version", "1.8");
+
+		if (version.startsWith("1.") || Integer.parseInt(version.split("\\.")[0]) < 21)
+			return null;
+
+		try {
+			return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+
+		} catch (final Throwable t) {
+			return null;
+		}
+	}
+
+	/*
+	 * Create a bounded pool of daemon platform threads which stop when idle
+	 */
+	private static ExecutorService createPlatformExecutor() {
+		final int threads = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+		final String name = SimplePlugin.getNamed() + " Async Worker #";
+		final AtomicInteger threadCount = new AtomicInteger();
+
+		final ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+			final Thread thread = new Thread(runnable, name + threadCount.incrementAndGet());
+
+			thread.setDaemon(true);
+			return thread;
+		});
+
+		pool.allowCoreThreadTimeOut(true);
+
+		return pool;
+	}
+}
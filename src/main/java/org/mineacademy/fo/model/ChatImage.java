@@ -7,13 +7,18 @@ import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
 import java.net.URL;
+import java.util.concurrent.CompletableFuture;
 
 import javax.imageio.ImageIO;
 
 import org.bukkit.ChatColor;
 import org.bukkit.command.CommandSender;
 import org.bukkit.util.ChatPaginator;
+import org.mineacademy.fo.Common;
+import org.mineacademy.fo.MinecraftVersion;
+import org.mineacademy.fo.MinecraftVersion.V;
 import org.mineacademy.fo.Valid;
+import org.mineacademy.fo.collection.LimitedCache;
 import org.mineacademy.fo.remain.CompChatColor;
 
 import lombok.AccessLevel;
@@ -65,6 +70,11 @@ public final class ChatImage {
 	@Setter
 	private static Color backgroundColor = Color.WHITE;
 
+	/**
+	 * Rendered lines of recently loaded images by their source, height and character type
+	 */
+	private static final LimitedCache<String, String[]> renderedLines = new LimitedCache<>(256);
+
 	/**
 	 * Represents the currently loaded lines
 	 */
@@ -184,6 +194,30 @@ public final class ChatImage {
 		return fromImage(chatHeadEndpoint.replace("{PLAYER_NAME}", playerName).replace("{HEIGHT}", String.valueOf(height)), height, characterType);
 	}
 
+	/**
+	 * Create a player head image from the player username without blocking. Uses DARK_SHADE font
+	 * and {@link #DEFAULT_HEIGHT}, see {@link #fromImageAsync(String, int, Type)}.
+	 *
+	 * @param playerName
+	 * @return
+	 */
+	public static CompletableFuture<ChatImage> fromHeadAsync(String playerName) {
+		return fromHeadAsync(playerName, DEFAULT_HEIGHT, Type.DARK_SHADE);
+	}
+
+	/**
+	 * Create a player head image from the player username without blocking,
+	 * see {@link #fromImageAsync(String, int, Type)}.
+	 *
+	 * @param playerName
+	 * @param height
+	 * @param characterType
+	 * @return
+	 */
+	public static CompletableFuture<ChatImage> fromHeadAsync(String playerName, int height, Type characterType) {
+		return fromImageAsync(chatHeadEndpoint.replace("{PLAYER_NAME}", playerName).replace("{HEIGHT}", String.valueOf(height)), height, characterType);
+	}
+
 	/**
 	 * Create a chat image from the given remote URL, the {@link #DEFAULT_HEIGHT} and DARK_SHADE
 	 * character type. Invokes a blocking web request and throws an error on any failure.
@@ -220,13 +254,49 @@ public final class ChatImage {
 	 * @throws IOException
 	 */
 	public static ChatImage fromImage(@NonNull String webUrl, int height, Type characterType) throws IOException {
+		final String key = webUrl + "|" + height + "|" + characterType;
+		final String[] cachedLines = renderedLines.get(key);
+
+		if (cachedLines != null)
+			return fromLines(cachedLines.clone());
+
 		final BufferedImage image = ImageIO.read(new URL(webUrl));
 
 		if (image == null)
 			throw new NullPointerException("Unable to load image from URL ");
 
 		else
-			return fromSource(image, height, characterType);
+			return fromSource(key, image, height, characterType);
+	}
+
+	/**
+	 * Create a chat image from the given remote URL, the given line height and character type
+	 * without blocking. The web request is made on an async thread and the future completes
+	 * there, or right away if the image was rendered recently.
+	 *
+	 * @param webUrl
+	 * @param height
+	 * @param characterType
+	 * @return
+	 */
+	public static CompletableFuture<ChatImage> fromImageAsync(@NonNull String webUrl, int height, Type characterType) {
+		final String[] cachedLines = renderedLines.get(webUrl + "|" + height + "|" + characterType);
+
+		if (cachedLines != null)
+			return CompletableFuture.completedFuture(fromLines(cachedLines.clone()));
+
+		final CompletableFuture<ChatImage> future = new CompletableFuture<>();
+
+		Common.runAsync(() -> {
+			try {
+				future.complete(fromImage(webUrl, height, characterType));
+
+			} catch (final Throwable t) {
+				future.completeExceptionally(t);
+			}
+		});
+
+		return future;
 	}
 
 	/**
@@ -267,30 +337,44 @@ public final class ChatImage {
 	public static ChatImage fromFile(@NonNull File file, int height, Type characterType) throws IOException {
 		Valid.checkBoolean(file.exists(), "Cannot load image from non existing file " + file.toPath());
 
+		final String key = file.getAbsolutePath() + "@" + file.lastModified() + "|" + height + "|" + characterType;
+		final String[] cachedLines = renderedLines.get(key);
+
+		if (cachedLines != null)
+			return fromLines(cachedLines.clone());
+
 		final BufferedImage image = ImageIO.read(file);
 
 		if (image == null)
 			throw new NullPointerException("Unable to load image size " + file.length() + " bytes from " + file.toPath());
 
 		else
-			return fromSource(image, height, characterType);
+			return fromSource(key, image, height, characterType);
 	}
 
 	/*
-	 * Helper to load the image
+	 * Helper to load the image and cache its lines under the given key
 	 */
-	private static ChatImage fromSource(@NonNull BufferedImage image, int height, @NonNull Type characterType) {
+	private static ChatImage fromSource(String key, @NonNull BufferedImage image, int height, @NonNull Type characterType) {
 		Valid.checkBoolean(height >= 2, "File image height must be equal or above 2");
 
 		final BufferedImage newImage = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
 		newImage.createGraphics().drawImage(image, 0, 0, backgroundColor, null);
 
 		final CompChatColor[][] chatColors = parseImage(newImage, height);
-		final ChatImage chatImage = new ChatImage();
+		final String[] lines = parseColors(chatColors, characterType);
 
-		chatImage.lines = parseColors(chatColors, characterType);
+		renderedLines.put(key, lines.clone());
 
-		return chatImage;
+		return fromLines(lines);
+	}
+
+	/**
+	 * Forget all recently rendered images, i.e. when you change {@link #setBackgroundColor(Color)}
+	 * or {@link #setResizeMethod(int)}
+	 */
+	public static void clearCache() {
+		renderedLines.clear();
 	}
 
 	/**
@@ -319,11 +403,12 @@ public final class ChatImage {
 
 		final BufferedImage resized = resizeImage(newImage, (int) (height / ratio), height);
 		final CompChatColor[][] chatImg = new CompChatColor[resized.getWidth()][resized.getHeight()];
+		final boolean legacy = MinecraftVersion.olderThan(V.v1_16);
 
 		for (int x = 0; x < resized.getWidth(); x++)
 			for (int y = 0; y < resized.getHeight(); y++) {
 				final int rgb = resized.getRGB(x, y);
-				final CompChatColor closest = CompChatColor.getClosestLegacyColor(new Color(rgb, true));
+				final CompChatColor closest = legacy ? CompChatColor.getClosestLegacyColorFast(rgb) : CompChatColor.getClosestLegacyColor(new Color(rgb, true));
 
 				chatImg[x][y] = closest;
 			}
@@ -353,15 +438,18 @@ public final class ChatImage {
 		final String[] lines = new String[colors[0].length];
 
 		for (int y = 0; y < colors[0].length; y++) {
-			String line = "";
+			final StringBuilder line = new StringBuilder();
 
 			for (final CompChatColor[] color2 : colors) {
 				final CompChatColor color = color2[y];
 
-				line += color != null ? color2[y].toString() + imgchar : TRANSPARENT_CHAR;
+				if (color != null)
+					line.append(color.toString()).append(imgchar.getCharacter());
+				else
+					line.append(TRANSPARENT_CHAR);
 			}
 
-			lines[y] = line + ChatColor.RESET;
+			lines[y] = line.append(ChatColor.RESET).toString();
 		}
 
 		return lines;
@@ -1,6 +1,9 @@
 package org.mineacademy.fo.model;
 
+import java.util.concurrent.TimeUnit;
+
 import org.mineacademy.fo.Common;
+import org.mineacademy.fo.TimeUtil;
 import org.mineacademy.fo.Valid;
 
 import lombok.Getter;
@@ -9,9 +12,22 @@ import lombok.Setter;
 /**
  * Splits manipulating with large about of items in a list
  * into smaller pieces
+ * <p>
+ * By default we process a fixed amount of items on each run. Use {@link #setTickBudgetMillis(int)}
+ * to process as many items as fit into the given time each tick instead.
  */
 public abstract class ChunkedTask {
 
+	/**
+	 * How long a server tick should take
+	 */
+	private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+	/**
+	 * How often we log progress in the time budget mode
+	 */
+	private static final long REPORT_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(5);
+
 	/**
 	 * How many ticks should we wait before processing the next bulk amount?
 	 */
@@ -23,6 +39,13 @@ public abstract class ChunkedTask {
 	 */
 	private final int processAmount;
 
+	/**
+	 * How many milliseconds per tick may we spend processing, 0 to process
+	 * the fixed amount of items each run instead
+	 */
+	@Getter
+	private int tickBudgetMillis = 0;
+
 	/*
 	 * The current index where we are processing at, right now
 	 */
@@ -36,6 +59,18 @@ public abstract class ChunkedTask {
 	private boolean processing = false;
 	private boolean firstLaunch = false;
 
+	/*
+	 * The index and time we started processing at, used to calculate throughput
+	 */
+	private int startIndex = 0;
+	private long startNanos = 0;
+
+	/*
+	 * When we last ran and logged progress in the time budget mode
+	 */
+	private long lastRunNanos = 0;
+	private long lastReportNanos = 0;
+
 	/**
 	 * Create a new task that will process the given amount of times on each run
 	 * (see getWaitPeriodTicks() and wait for 1 second between each time
@@ -58,6 +93,20 @@ public abstract class ChunkedTask {
 		this.waitPeriodTicks = waitPeriodTicks;
 	}
 
+	/**
+	 * Process as many items as fit into the given milliseconds every tick, ignoring
+	 * the process amount and wait period. When the server is lagging we spend
+	 * proportionally less time so that we do not make it worse. Set to 0 to disable.
+	 *
+	 * @param tickBudgetMillis
+	 */
+	public final void setTickBudgetMillis(int tickBudgetMillis) {
+		Valid.checkBoolean(tickBudgetMillis >= 0 && tickBudgetMillis < 50, "Tick budget must be between 0 and 49 ms, got " + tickBudgetMillis);
+		Valid.checkBoolean(!this.processing, "Cannot change tick budget while " + this + " is running");
+
+		this.tickBudgetMillis = tickBudgetMillis;
+	}
+
 	/**
 	 * Start the chain, will run several sync tasks until done
 	 */
@@ -67,6 +116,16 @@ public abstract class ChunkedTask {
 			this.processing = true;
 
 			this.firstLaunch = true;
+			this.startIndex = this.currentIndex;
+			this.startNanos = System.nanoTime();
+			this.lastRunNanos = 0;
+			this.lastReportNanos = this.startNanos;
+		}
+
+		if (this.tickBudgetMillis > 0) {
+			Common.runLater(this::processWithinBudget);
+
+			return;
 		}
 
 		Common.runLater(() -> {
@@ -123,6 +182,79 @@ public abstract class ChunkedTask {
 		});
 	}
 
+	/*
+	 * Process items until the tick budget is spent, then continue next tick
+	 */
+	private void processWithinBudget() {
+
+		// Cancelled prematurely
+		if (!this.processing) {
+			this.onFinish(false);
+			this.firstLaunch = false;
+
+			return;
+		}
+
+		final long now = System.nanoTime();
+		long budgetNanos = TimeUnit.MILLISECONDS.toNanos(this.tickBudgetMillis);
+
+		// Ticks take longer than they should, give the server back the time it is missing
+		if (this.lastRunNanos != 0) {
+			final long tickNanos = now - this.lastRunNanos;
+
+			if (tickNanos > TICK_NANOS)
+				budgetNanos = budgetNanos * TICK_NANOS / tickNanos;
+		}
+
+		this.lastRunNanos = now;
+
+		final long deadline = now + budgetNanos;
+		boolean finished = false;
+
+		// Always process at least one item so that we finish eventually
+		do {
+			if (!this.canContinue(this.currentIndex)) {
+				finished = true;
+
+				break;
+			}
+
+			try {
+				this.onProcess(this.currentIndex);
+
+			} catch (final Throwable t) {
+				Common.error(t, "Error in " + this + " processing index " + this.currentIndex);
+				this.processing = false;
+				this.firstLaunch = false;
+
+				this.onFinish(false);
+				return;
+			}
+
+			this.currentIndex++;
+
+		} while (System.nanoTime() < deadline);
+
+		if (finished) {
+			this.processing = false;
+			this.firstLaunch = false;
+
+			this.onFinish(true);
+			return;
+		}
+
+		if (System.nanoTime() - this.lastReportNanos > REPORT_INTERVAL_NANOS) {
+			final String message = this.getProgressMessage(this.currentIndex - this.startIndex, this.getThroughput(), this.getEstimatedMillisLeft());
+
+			if (message != null)
+				Common.log(message);
+
+			this.lastReportNanos = System.nanoTime();
+		}
+
+		Common.runLater(this::processWithinBudget);
+	}
+
 	/**
 	 * Attempts to cancel this running task, throwing error if it is not running (use {@link #isProcessing()}
 	 */
@@ -132,6 +264,37 @@ public abstract class ChunkedTask {
 		this.processing = false;
 	}
 
+	/**
+	 * Return how many items we process per second since the task was started,
+	 * or 0 if not running
+	 *
+	 * @return
+	 */
+	public final double getThroughput() {
+		if (!this.processing)
+			return 0;
+
+		final long elapsedNanos = System.nanoTime() - this.startNanos;
+
+		return elapsedNanos <= 0 ? 0 : (this.currentIndex - this.startIndex) * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+	}
+
+	/**
+	 * Return how many milliseconds are approximately left until we are finished,
+	 * or -1 if unknown, see {@link #getTotalItems()}
+	 *
+	 * @return
+	 */
+	public final long getEstimatedMillisLeft() {
+		final int total = this.getTotalItems();
+		final double throughput = this.getThroughput();
+
+		if (total < 0 || throughput <= 0)
+			return -1;
+
+		return (long) (Math.max(0, total - this.currentIndex) * 1000 / throughput);
+	}
+
 	/**
 	 * Called when we process a single item
 	 *
@@ -147,6 +310,16 @@ public abstract class ChunkedTask {
 	 */
 	protected abstract boolean canContinue(int index);
 
+	/**
+	 * Return how many items there are in total, used to estimate
+	 * the time left. Return -1 if unknown (default).
+	 *
+	 * @return
+	 */
+	protected int getTotalItems() {
+		return -1;
+	}
+
 	/**
 	 * Get the message to send to the console on each progress, or null if no message
 	 *
@@ -158,6 +331,20 @@ public abstract class ChunkedTask {
 		return "Processed " + String.format("%,d", processed) + " " + this.getLabel() + ". Took " + (System.currentTimeMillis() - initialTime) + " ms";
 	}
 
+	/**
+	 * Get the message to send to the console every few seconds in the time budget mode,
+	 * or null if no message
+	 *
+	 * @param processed how many items we processed since started
+	 * @param throughput items processed per second
+	 * @param millisLeft the estimated time left, or -1 if unknown
+	 * @return
+	 */
+	protected String getProgressMessage(int processed, double throughput, long millisLeft) {
+		return "Processed " + String.format("%,d", processed) + " " + this.getLabel() + " (" + String.format("%,.0f", throughput) + "/s)"
+				+ (millisLeft < 0 ? "" : ", " + TimeUtil.formatTimeShort(millisLeft / 1000) + " left");
+	}
+
 	/**
 	 * Called when the processing is finished
 	 *
@@ -184,4 +371,4 @@ public abstract class ChunkedTask {
 	protected String getLabel() {
 		return "blocks";
 	}
-}
\ No newline at end of file
+}
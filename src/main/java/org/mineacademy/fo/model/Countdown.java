@@ -1,13 +1,19 @@
 package org.mineacademy.fo.model;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.mineacademy.fo.Common;
 import org.mineacademy.fo.Valid;
 
-import lombok.AccessLevel;
 import lombok.Getter;
 
 /**
  * Represents a runnable timer task that counts down to 0 and stops
+ * <p>
+ * Countdowns do not create their own scheduler tasks, all running countdowns
+ * are advanced from one shared task. Use {@link #setPeriodTicks(int)} to
+ * tick more often than once per second.
  */
 public abstract class Countdown implements Runnable {
 
@@ -25,6 +31,21 @@ public abstract class Countdown implements Runnable {
 	 */
 	private static final int TICK_PERIOD = 20;
 
+	/**
+	 * Countdowns advanced by the shared task, including paused ones
+	 */
+	private static final List<Countdown> scheduled = new ArrayList<>();
+
+	/**
+	 * The shared task advancing all countdowns, null when there are none
+	 */
+	private static SimpleTask tickingTask;
+
+	/**
+	 * How many ticks the shared task has run for
+	 */
+	private static long currentTick = 0;
+
 	/**
 	 * The time in seconds we are counting down from
 	 */
@@ -32,10 +53,27 @@ public abstract class Countdown implements Runnable {
 	private final int countdownSeconds;
 
 	/**
-	 * How many seconds have passed since the start ?
+	 * How many ticks should we wait between each {@link #onTick()}?
+	 * <p>
+	 * Defaults to 1 second.
+	 */
+	@Getter
+	private int periodTicks = TICK_PERIOD;
+
+	/**
+	 * How many ticks have passed since the start ?
+	 */
+	private int ticksSinceStart = 0;
+
+	/**
+	 * The shared tick when we run next
+	 */
+	private long nextRunTick = 0;
+
+	/**
+	 * Is this countdown currently running ?
 	 */
-	@Getter(AccessLevel.PROTECTED)
-	private int secondsSinceStart = 0;
+	private boolean running = false;
 
 	/**
 	 * Is this countdown currently paused ?
@@ -43,9 +81,9 @@ public abstract class Countdown implements Runnable {
 	private boolean paused = false;
 
 	/**
-	 * The internal task from Bukkit associated with this countdown
+	 * Is this countdown in the list of scheduled countdowns ?
 	 */
-	private SimpleTask task = null;
+	private boolean queued = false;
 
 	/**
 	 * Create new countdown from the given time
@@ -67,9 +105,9 @@ public abstract class Countdown implements Runnable {
 
 	@Override
 	public final void run() {
-		this.secondsSinceStart++;
+		this.ticksSinceStart += this.periodTicks;
 
-		if (this.secondsSinceStart < this.countdownSeconds)
+		if (this.ticksSinceStart < this.countdownSeconds * TICK_PERIOD)
 			try {
 				this.onTick();
 
@@ -82,7 +120,7 @@ public abstract class Countdown implements Runnable {
 
 				Common.error(t,
 						"Error in countdown!",
-						"Seconds since start: " + this.secondsSinceStart,
+						"Seconds since start: " + this.getSecondsSinceStart(),
 						"Counting till: " + this.countdownSeconds,
 						"%error");
 			}
@@ -99,7 +137,7 @@ public abstract class Countdown implements Runnable {
 	}
 
 	/**
-	 * Called on each tick (by default each second) till we count down to 0
+	 * Called on each tick (by default each second, see {@link #setPeriodTicks(int)}) till we count down to 0
 	 */
 	protected abstract void onTick();
 
@@ -116,13 +154,44 @@ public abstract class Countdown implements Runnable {
 	protected void onTickError(final Throwable t) {
 	}
 
+	/**
+	 * Set how many ticks to wait between each {@link #onTick()}, for example 10 to tick twice per second.
+	 * Must be called before the countdown is launched.
+	 *
+	 * @param periodTicks from 1 to 20
+	 */
+	public final void setPeriodTicks(final int periodTicks) {
+		Valid.checkBoolean(periodTicks > 0 && periodTicks <= TICK_PERIOD, "Countdown period must be between 1 and " + TICK_PERIOD + " ticks, got " + periodTicks);
+		Valid.checkBoolean(!this.running && !this.paused, "Cannot change period of a running countdown " + this);
+
+		this.periodTicks = periodTicks;
+	}
+
+	/**
+	 * How many seconds have passed since the start ?
+	 *
+	 * @return
+	 */
+	protected int getSecondsSinceStart() {
+		return this.ticksSinceStart / TICK_PERIOD;
+	}
+
 	/**
 	 * Return the time left in seconds
 	 *
 	 * @return
 	 */
 	public int getTimeLeft() {
-		return this.countdownSeconds - this.secondsSinceStart;
+		return this.countdownSeconds - this.getSecondsSinceStart();
+	}
+
+	/**
+	 * Return the time left in ticks
+	 *
+	 * @return
+	 */
+	public int getTicksLeft() {
+		return this.countdownSeconds * TICK_PERIOD - this.ticksSinceStart;
 	}
 
 	/**
@@ -131,7 +200,7 @@ public abstract class Countdown implements Runnable {
 	 * @return
 	 */
 	public int getElapsedTime() {
-		return this.secondsSinceStart;
+		return this.getSecondsSinceStart();
 	}
 
 	/**
@@ -149,7 +218,7 @@ public abstract class Countdown implements Runnable {
 	 * @param secondsElapsed The time in seconds
 	 */
 	public void setElapsedTime(final int secondsElapsed) {
-		this.secondsSinceStart = secondsElapsed;
+		this.ticksSinceStart = secondsElapsed * TICK_PERIOD;
 	}
 
 	/**
@@ -159,8 +228,7 @@ public abstract class Countdown implements Runnable {
 		Valid.checkBoolean(!this.isRunning(), "Task " + this + " already scheduled!");
 		Valid.checkBoolean(!this.paused, "You cannot launch a countdown that is paused!");
 
-		this.task = Common.runTimer(START_DELAY, TICK_PERIOD, this);
-
+		this.schedule();
 		this.onStart();
 	}
 
@@ -170,9 +238,7 @@ public abstract class Countdown implements Runnable {
 	public final void pause() {
 		Valid.checkBoolean(this.isRunning(), "Countdown must be scheduled in order to pause it!");
 
-		this.task.cancel();
-
-		this.task = null;
+		this.running = false;
 		this.paused = true;
 	}
 
@@ -182,7 +248,7 @@ public abstract class Countdown implements Runnable {
 	public final void resume() {
 		Valid.checkBoolean(this.paused, "Countdown must be paused in order to resume it!");
 
-		this.task = Common.runTimer(START_DELAY, TICK_PERIOD, this);
+		this.schedule();
 		this.paused = false;
 	}
 
@@ -190,10 +256,11 @@ public abstract class Countdown implements Runnable {
 	 * Cancels this countdown, failing if it is not scheduled (use {@link #isRunning()})
 	 */
 	public final void cancel() {
-		this.task.cancel();
+		Valid.checkBoolean(this.running || this.paused, "Countdown " + this + " is not scheduled!");
 
-		this.task = null;
-		this.secondsSinceStart = 0;
+		this.running = false;
+		this.paused = false;
+		this.ticksSinceStart = 0;
 	}
 
 	/**
@@ -202,7 +269,7 @@ public abstract class Countdown implements Runnable {
 	 * @return
 	 */
 	public final boolean isRunning() {
-		return this.task != null;
+		return this.running;
 	}
 
 	/**
@@ -214,8 +281,98 @@ public abstract class Countdown implements Runnable {
 		return this.paused;
 	}
 
+	/*
+	 * Run the first tick after the start delay and register to the shared task
+	 */
+	private void schedule() {
+		this.running = true;
+		this.nextRunTick = currentTick + START_DELAY;
+
+		if (!this.queued) {
+			this.queued = true;
+
+			scheduled.add(this);
+		}
+
+		if (tickingTask == null)
+			tickingTask = Common.runTimer(1, Countdown::tickAll);
+	}
+
 	@Override
 	public final String toString() {
-		return this.getClass().getSimpleName() + "{" + this.countdownSeconds + ", taskId=" + (this.isRunning() ? this.task.getTaskId() : "not running") + "}";
+		return this.getClass().getSimpleName() + "{" + this.countdownSeconds + ", " + (this.running ? "running" : this.paused ? "paused" : "not running") + "}";
+	}
+
+	/*
+	 * Advance all due countdowns, removing cancelled ones and stopping when none are left
+	 */
+	private static void tickAll() {
+		currentTick++;
+
+		// Countdowns launched from within onTick or onEnd are appended and kept
+		for (int i = 0; i < scheduled.size(); i++) {
+			final Countdown countdown = scheduled.get(i);
+
+			if (countdown.running && countdown.nextRunTick <= currentTick) {
+				countdown.nextRunTick = currentTick + countdown.periodTicks;
+
+				try {
+					countdown.run();
+
+				} catch (final Throwable t) {
+					Common.error(t, "Error running countdown " + countdown);
+				}
+			}
+		}
+
+		int kept = 0;
+
+		for (int i = 0; i < scheduled.size(); i++) {
+			final Countdown countdown = scheduled.get(i);
+
+			if (countdown.running || countdown.paused)
+				scheduled.set(kept++, countdown);
+			else
+				countdown.queued = false;
+		}
+
+		scheduled.subList(kept, scheduled.size()).clear();
+
+		if (scheduled.isEmpty() && tickingTask != null) {
+			tickingTask.cancel();
+
+			tickingTask = null;
+		}
+	}
+
+	/**
+	 * Stop all countdowns without calling {@link #onEnd()}, called when the plugin is reloaded or disabled
+	 *
+	 * @deprecated internal use only
+	 */
+	@Deprecated
+	public static void cancelAll() {
+		for (final Countdown countdown : scheduled) {
+			countdown.running = false;
+			countdown.paused = false;
+			countdown.queued = false;
+		}
+
+		scheduled.clear();
+
+		if (tickingTask != null) {
+			tickingTask.cancel();
+
+			tickingTask = null;
+		}
+	}
+
+	/**
+	 * Return how many countdowns are running or paused
+	 *
+	 * @return
+	 */
+	public static int getScheduledCount() {
+		return scheduled.size();
 	}
 }
@@ -1,7 +1,9 @@
 package org.mineacademy.fo.model;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.regex.Pattern;
 
 import javax.annotation.Nullable;
@@ -32,10 +34,10 @@ import lombok.RequiredArgsConstructor;
  * Example: DIAMOND_* will match all DIAMOND_HOE, DIAMOND_SPADE etc. but not SUPERDIAMOND_SPADE
  *
  * Rationale: The Protect plugin evaluates each slot in the inventory (27 + armor) against all rules,
- * and using the complex regex class drags performance down too much.
+ * and using the complex regex class drags performance down too much. Matchers are thus compiled
+ * into hash sets and {@link AhoCorasickMatcher}s so that a check does not loop over them.
  */
 @Getter
-@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
 public class FastMatcher implements ConfigSerializable {
 
 	/**
@@ -54,6 +56,66 @@ public class FastMatcher implements ConfigSerializable {
 	@Nullable
 	private final Matcher[] matchers;
 
+	/**
+	 * Parts evaluated with startsWith
+	 */
+	@Getter(AccessLevel.NONE)
+	private final AhoCorasickMatcher prefixes;
+
+	/**
+	 * Parts evaluated with endsWith
+	 */
+	@Getter(AccessLevel.NONE)
+	private final AhoCorasickMatcher suffixes;
+
+	/**
+	 * Parts evaluated with equals
+	 */
+	@Getter(AccessLevel.NONE)
+	private final Set<String> exactMatches;
+
+	/**
+	 * Parts evaluated with contains
+	 */
+	@Getter(AccessLevel.NONE)
+	private final AhoCorasickMatcher substrings;
+
+	/*
+	 * Create a new matcher compiling the given matchers, see compile()
+	 */
+	private FastMatcher(Pattern pattern, String rawPattern, Matcher[] matchers) {
+		this.pattern = pattern;
+		this.rawPattern = rawPattern;
+		this.matchers = matchers;
+
+		final List<String> prefixes = new ArrayList<>();
+		final List<String> suffixes = new ArrayList<>();
+		final List<String> substrings = new ArrayList<>();
+
+		this.exactMatches = new HashSet<>();
+
+		if (matchers != null)
+			for (final Matcher matcher : matchers) {
+				Valid.checkNotEmpty(matcher.getPattern(), "Matcher pattern cannot be empty! Use * instead to match everything in " + this);
+
+				if (matcher.getMode() == 1)
+					prefixes.add(matcher.getPattern());
+
+				else if (matcher.getMode() == 2)
+					suffixes.add(matcher.getPattern());
+
+				else if (matcher.getMode() == 3)
+					this.exactMatches.add(matcher.getPattern());
+
+				else
+					substrings.add(matcher.getPattern());
+			}
+
+		this.prefixes = AhoCorasickMatcher.compile(prefixes);
+		this.suffixes = AhoCorasickMatcher.compileSuffixes(suffixes, false);
+		this.substrings = AhoCorasickMatcher.compile(substrings);
+	}
+
 	/**
 	 * Return if this matcher matches the given message,
 	 * case sensitive
@@ -74,15 +136,11 @@ public class FastMatcher implements ConfigSerializable {
 		if (this.pattern != null)
 			return this.pattern.matcher(message).find();
 
-		// Use our matching
-		for (final Matcher matcher : this.matchers) {
-			Valid.checkNotEmpty(matcher.getPattern(), "Matcher pattern cannot be empty! Use * instead to match everything in " + this);
-
-			if (matcher.find(message))
-				return true;
-		}
-
-		return false;
+		// Use our matching, compiled from all matchers
+		return this.exactMatches.contains(message)
+				|| !this.prefixes.isEmpty() && this.prefixes.startsWithAny(message)
+				|| !this.suffixes.isEmpty() && this.suffixes.endsWithAny(message)
+				|| !this.substrings.isEmpty() && this.substrings.find(message);
 	}
 
 	@Override
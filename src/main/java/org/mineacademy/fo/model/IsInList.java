@@ -2,6 +2,7 @@ package org.mineacademy.fo.model;
 
 import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.regex.Pattern;
 
 import org.mineacademy.fo.Common;
@@ -32,6 +33,17 @@ public final class IsInList<T> implements Iterable<T> {
 	 */
 	private final boolean matchAll;
 
+	/**
+	 * Items as strings compiled for case insensitive startsWith checks
+	 */
+	private final AhoCorasickMatcher prefixes;
+
+	/**
+	 * Items as lowercase patterns, compiled on first regex match
+	 * since not all lists hold valid expressions
+	 */
+	private volatile Pattern[] patterns;
+
 	/**
 	 * Create a new is in list
 	 *
@@ -41,6 +53,13 @@ public final class IsInList<T> implements Iterable<T> {
 	private IsInList(final Iterable<T> list, boolean matchAll) {
 		this.list = new StrictSet<>(list);
 		this.matchAll = matchAll;
+
+		final List<String> items = new ArrayList<>();
+
+		for (final T item : this.list)
+			items.add(item.toString());
+
+		this.prefixes = AhoCorasickMatcher.compile(items, true);
 	}
 
 	/**
@@ -74,16 +93,7 @@ public final class IsInList<T> implements Iterable<T> {
 		if (this.matchAll)
 			return true;
 
-		final String evaluatedString = toEvaluateAgainst.toString().toLowerCase();
-
-		for (final T item : this.list) {
-			final String itemString = item.toString().toLowerCase();
-
-			if (evaluatedString.startsWith(itemString))
-				return true;
-		}
-
-		return false;
+		return this.prefixes.startsWithAny(toEvaluateAgainst.toString());
 	}
 
 	/**
@@ -104,16 +114,31 @@ public final class IsInList<T> implements Iterable<T> {
 
 		final String evaluatedString = toEvaluateAgainst.toString().toLowerCase();
 
-		for (final T item : this.list) {
-			final String itemString = item.toString().toLowerCase();
-
-			if (Pattern.compile(itemString).matcher(evaluatedString).find())
+		for (final Pattern pattern : this.getPatterns())
+			if (pattern.matcher(evaluatedString).find())
 				return true;
-		}
 
 		return false;
 	}
 
+	/*
+	 * Compile items into lowercase patterns once
+	 */
+	private Pattern[] getPatterns() {
+		Pattern[] patterns = this.patterns;
+
+		if (patterns == null) {
+			final List<Pattern> compiled = new ArrayList<>();
+
+			for (final T item : this.list)
+				compiled.add(Pattern.compile(item.toString().toLowerCase()));
+
+			this.patterns = patterns = compiled.toArray(new Pattern[compiled.size()]);
+		}
+
+		return patterns;
+	}
+
 	/**
 	 * Return true if list is equal to ["*"]
 	 *
@@ -0,0 +1,192 @@
+package org.mineacademy.fo.model;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.mineacademy.fo.Common;
+import org.mineacademy.fo.Valid;
+import org.mineacademy.fo.plugin.SimplePlugin;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * A queue for callbacks that async code wants to run on the main thread,
+ * such as finishing a database load.
+ * <p>
+ * Instead of each callback scheduling its own task, they are all run from one
+ * task every tick until the tick budget is spent, the rest waits for the next tick.
+ * This prevents thousands of callbacks finishing at once from freezing the server.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class MainThreadQueue {
+
+	/**
+	 * The pending callbacks, lock-free so that any thread can add to it
+	 */
+	private static final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+
+	/**
+	 * How many callbacks are pending, kept separately since counting the queue is slow
+	 */
+	private static final AtomicInteger queueSize = new AtomicInteger();
+
+	/**
+	 * Is the task running callbacks scheduled?
+	 */
+	private static final AtomicBoolean pumping = new AtomicBoolean(false);
+
+	/**
+	 * The highest amount of pending callbacks we have seen
+	 */
+	private static final AtomicInteger peakQueueSize = new AtomicInteger();
+
+	/**
+	 * How many callbacks have been run in total
+	 */
+	private static final AtomicLong completedCount = new AtomicLong();
+
+	/**
+	 * How many milliseconds per tick may we spend running callbacks?
+	 */
+	@Getter
+	private static volatile int tickBudgetMillis = 5;
+
+	/**
+	 * Add the callback to be run on the main thread, in the order added
+	 *
+	 * @param callback
+	 */
+	public static void submit(Runnable callback) {
+		Valid.checkNotNull(callback, "Cannot submit a null callback");
+
+		queue.add(callback);
+
+		final int size = queueSize.incrementAndGet();
+
+		peakQueueSize.accumulateAndGet(size, Math::max);
+
+		startPumping();
+	}
+
+	/**
+	 * Set how many milliseconds per tick we may spend running callbacks,
+	 * at least one callback is always run each tick
+	 *
+	 * @param tickBudgetMillis
+	 */
+	public static void setTickBudgetMillis(int tickBudgetMillis) {
+		Valid.checkBoolean(tickBudgetMillis > 0 && tickBudgetMillis < 50, "Tick budget must be between 1 and 49 ms, got " + tickBudgetMillis);
+
+		MainThreadQueue.tickBudgetMillis = tickBudgetMillis;
+	}
+
+	/**
+	 * Return how many callbacks are waiting to be run
+	 *
+	 * @return
+	 */
+	public static int getQueueSize() {
+		return queueSize.get();
+	}
+
+	/**
+	 * Return the highest amount of callbacks waiting at once since started or reset
+	 *
+	 * @return
+	 */
+	public static int getPeakQueueSize() {
+		return peakQueueSize.get();
+	}
+
+	/**
+	 * Return how many callbacks have been run in total
+	 *
+	 * @return
+	 */
+	public static long getCompletedCount() {
+		return completedCount.get();
+	}
+
+	/**
+	 * Reset the peak queue size to the current queue size
+	 */
+	public static void resetPeakQueueSize() {
+		peakQueueSize.set(queueSize.get());
+	}
+
+	/**
+	 * Restart running callbacks on reload, since all tasks were cancelled
+	 *
+	 * @deprecated internal use only, do not call
+	 */
+	@Deprecated
+	public static void onReload() {
+		pumping.set(false);
+
+		if (!queue.isEmpty())
+			startPumping();
+	}
+
+	/*
+	 * Schedule the task running callbacks if not yet scheduled
+	 */
+	private static void startPumping() {
+		if (pumping.compareAndSet(false, true))
+			new PumpTask().runTaskTimer(SimplePlugin.getInstance(), 0, 1);
+	}
+
+	/*
+	 * Run callbacks until the tick budget is spent, returning true if nothing is left
+	 */
+	private static boolean pump() {
+		final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(tickBudgetMillis);
+		Runnable callback;
+
+		while ((callback = queue.poll()) != null) {
+			queueSize.decrementAndGet();
+
+			try {
+				callback.run();
+
+			} catch (final Throwable t) {
+				Common.error(t, "Error running main thread callback " + callback);
+			}
+
+			completedCount.incrementAndGet();
+
+			if (System.nanoTime() >= deadline)
+				return false;
+		}
+
+		return true;
+	}
+
+	/*
+	 * The task running callbacks every tick, cancelling itself once the queue is empty.
+	 *
+	 * It cancels itself rather than through a shared field so that a task which ran before
+	 * the field was set can never be left running, and scheduling it is synchronized with
+	 * cancelling it so it always knows its own task.
+	 */
+	private static final class PumpTask extends SimpleRunnable {
+
+		@Override
+		public void run() {
+			if (!pump())
+				return;
+
+			this.cancel();
+			pumping.set(false);
+
+			// A callback may have been added after we emptied the queue
+			if (!queue.isEmpty())
+				startPumping();
+		}
+	}
+}
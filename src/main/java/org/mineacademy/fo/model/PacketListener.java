@@ -2,10 +2,10 @@ package org.mineacademy.fo.model;
 
 import java.lang.reflect.Method;
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 
 import org.bukkit.entity.Player;
@@ -13,6 +13,7 @@ import org.mineacademy.fo.Common;
 import org.mineacademy.fo.MinecraftVersion;
 import org.mineacademy.fo.MinecraftVersion.V;
 import org.mineacademy.fo.ReflectionUtil;
+import org.mineacademy.fo.collection.LimitedCache;
 import org.mineacademy.fo.collection.SerializedMap;
 import org.mineacademy.fo.exception.EventHandledException;
 import org.mineacademy.fo.exception.FoException;
@@ -185,45 +186,55 @@ public abstract class PacketListener {
 		/**
 		 * Players being processed RIGHT NOW inside the method. Prevents dead loop.
 		 */
-		private final Set<String> processedPlayers = new HashSet<>();
+		private final Set<String> processedPlayers = ConcurrentHashMap.newKeySet();
 
 		/**
-		 * The event field for convenient calling in the overridable methods
+		 * The packet being processed by the current thread, packets are sent from many threads at once
 		 */
-		@Getter
-		private PacketEvent event;
+		private final ThreadLocal<ChatPacket> currentPacket = new ThreadLocal<>();
 
 		/**
-		 * The player field you can use below
+		 * Legacy text of recently sent json messages, the same broadcast is sent to many players
 		 */
-		@Getter
-		private Player player;
+		private final LimitedCache<String, String> legacyTexts = new LimitedCache<>(512);
 
 		/**
-		 * The currently filtered json message
+		 * Json of recently edited legacy messages
 		 */
-		private String jsonMessage;
+		private final LimitedCache<String, String> editedJsons = new LimitedCache<>(512);
 
 		/**
-		 * Support md_5 BaseComponent API
+		 * Support 1.19+ system chat
 		 */
-		private boolean isBaseComponent = false;
+		private final boolean systemChat = MinecraftVersion.atLeast(V.v1_19);
 
 		/**
-		 * Support Adventure PaperSpigot library
+		 * Create new chat listener
 		 */
-		private boolean adventure = false;
+		public SimpleChatAdapter() {
+			super(ListenerPriority.HIGHEST, MinecraftVersion.atLeast(V.v1_19) ? PacketType.Play.Server.SYSTEM_CHAT : PacketType.Play.Server.CHAT);
+		}
 
 		/**
-		 * Support 1.19+ system chat
+		 * Return the event being processed, for convenient calling in the overridable methods
+		 *
+		 * @return
 		 */
-		private final boolean systemChat = MinecraftVersion.atLeast(V.v1_19);
+		public PacketEvent getEvent() {
+			final ChatPacket packet = this.currentPacket.get();
+
+			return packet == null ? null : packet.event;
+		}
 
 		/**
-		 * Create new chat listener
+		 * Return the player the packet is being sent to, you can use this in the overridable methods
+		 *
+		 * @return
 		 */
-		public SimpleChatAdapter() {
-			super(ListenerPriority.HIGHEST, MinecraftVersion.atLeast(V.v1_19) ? PacketType.Play.Server.SYSTEM_CHAT : PacketType.Play.Server.CHAT);
+		public Player getPlayer() {
+			final PacketEvent event = this.getEvent();
+
+			return event == null ? null : event.getPlayer();
 		}
 
 		@Override
@@ -231,28 +242,28 @@ public abstract class PacketListener {
 			if (event.getPlayer() == null)
 				return;
 
-			this.event = event;
-			this.player = event.getPlayer();
-
-			final String playerName = event.getPlayer().getName();
+			final Player player = event.getPlayer();
+			final String playerName = player.getName();
 			final PacketContainer packet = event.getPacket();
 
 			// Ignore temporary players
 			try {
-				this.player.getUniqueId();
+				player.getUniqueId();
 
 			} catch (final UnsupportedOperationException ex) {
 				return;
 			}
 
 			// Ignore dummy instances and rare reload case
-			if (!this.player.isOnline() || SimplePlugin.isReloading())
+			if (!player.isOnline() || SimplePlugin.isReloading())
 				return;
 
 			// Prevent deadlock
 			if (this.processedPlayers.contains(playerName))
 				return;
 
+			final ChatPacket chatPacket = new ChatPacket(event);
+
 			// Ignore actionbar messages
 			if (MinecraftVersion.atLeast(V.v1_19) && packet.getHandle().getClass().getSimpleName().equals("ClientboundSystemChatPacket") &&
 					!packet.getBooleans().getFields().isEmpty() && packet.getBooleans().read(0) == true)
@@ -260,10 +271,13 @@ public abstract class PacketListener {
 
 			// Lock processing to one instance only to prevent another packet filtering
 			// in a filtering
+			final ChatPacket previousPacket = this.currentPacket.get();
+
 			try {
 				this.processedPlayers.add(playerName);
+				this.currentPacket.set(chatPacket);
 
-				final String legacyText = this.compileChatMessage(event);
+				final String legacyText = this.compileChatMessage(chatPacket);
 				String parsedText = legacyText;
 
 				try {
@@ -272,8 +286,9 @@ public abstract class PacketListener {
 				} catch (final RegexTimeoutException ex) {
 					// Such errors mean the parsed message took too long to process.
 					// Only show such errors every 30 minutes to prevent console spam
-					Common.logTimed(1800, "&cWarning: &fPacket message '" + Common.limit(this.jsonMessage, 500)
+					Common.logTimed(1800, "&cWarning: &fPacket message '" + Common.limit(chatPacket.jsonMessage, 500)
 							+ "' (possibly longer) took too long time to edit received message and was ignored."
+							+ (ex.getPattern() != null ? " Expression: '" + ex.getPattern() + "'." : "")
 							+ " This message only shows once per 30 minutes when that happens. For most cases, this can be ignored.");
 
 					return;
@@ -284,24 +299,27 @@ public abstract class PacketListener {
 					return;
 				}
 
-				if (this.jsonMessage != null && !this.jsonMessage.isEmpty())
-					this.jsonMessage = this.onJsonMessage(this.jsonMessage);
+				if (chatPacket.jsonMessage != null && !chatPacket.jsonMessage.isEmpty())
+					chatPacket.jsonMessage = this.onJsonMessage(chatPacket.jsonMessage);
 
 				if (!legacyText.equals(parsedText))
-					this.writeEditedMessage(parsedText, event);
+					this.writeEditedMessage(parsedText, chatPacket);
 
 			} finally {
-				this.processedPlayers.remove(this.player.getName());
+				this.processedPlayers.remove(playerName);
+
+				if (previousPacket == null)
+					this.currentPacket.remove();
+				else
+					this.currentPacket.set(previousPacket);
 			}
 		}
 
 		/*
 		 * Read the chat message in unpacked format from the event
 		 */
-		private String compileChatMessage(PacketEvent event) {
-
-			// Reset
-			this.jsonMessage = null;
+		private String compileChatMessage(ChatPacket chatPacket) {
+			final PacketEvent event = chatPacket.event;
 
 			// Components
 			if (MinecraftVersion.atLeast(V.v1_7)) {
@@ -311,14 +329,14 @@ public abstract class PacketListener {
 
 					try {
 						// Minecraft 1.20.4+ uses Component field instead of text
-						this.jsonMessage = event.getPacket().getChatComponents().read(0).getJson();
+						chatPacket.jsonMessage = event.getPacket().getChatComponents().read(0).getJson();
 
 					} catch (final Exception ex) {
-						this.jsonMessage = event.getPacket().getStrings().read(0);
+						chatPacket.jsonMessage = event.getPacket().getStrings().read(0);
 					}
 
-					if (this.jsonMessage != null)
-						return Remain.toLegacyText(this.jsonMessage, false);
+					if (chatPacket.jsonMessage != null)
+						return this.toLegacyText(chatPacket.jsonMessage);
 
 					try {
 						final StructureModifier<Object> adventureModifier = event.getPacket().getModifier().withType(AdventureComponentConverter.getComponentClass());
@@ -333,7 +351,7 @@ public abstract class PacketListener {
 							final Method gsonMethod = ReflectionUtil.getMethod(gsonInstance.getClass(), "serialize", componentClass);
 
 							final String json = ReflectionUtil.invoke(gsonMethod, gsonInstance, comp);
-							this.jsonMessage = WrappedChatComponent.fromJson(json).getJson();
+							chatPacket.jsonMessage = WrappedChatComponent.fromJson(json).getJson();
 						}
 
 					} catch (final Throwable ignored) {
@@ -368,7 +386,7 @@ public abstract class PacketListener {
 					}
 
 					if (component != null)
-						this.jsonMessage = component.getJson();
+						chatPacket.jsonMessage = component.getJson();
 
 					// Md_5 way of dealing with packets
 					else if (packet.size() > 1) {
@@ -379,13 +397,13 @@ public abstract class PacketListener {
 							secondField = packet.readSafely(2);
 
 							if (secondField != null)
-								this.adventure = true;
+								chatPacket.adventure = true;
 						}
 
 						if (secondField instanceof BaseComponent[]) {
-							this.jsonMessage = Remain.toJson((BaseComponent[]) secondField);
+							chatPacket.jsonMessage = Remain.toJson((BaseComponent[]) secondField);
 
-							this.isBaseComponent = true;
+							chatPacket.isBaseComponent = true;
 						}
 					}
 				}
@@ -393,18 +411,18 @@ public abstract class PacketListener {
 
 			// No components for this MC version
 			else
-				this.jsonMessage = event.getPacket().getStrings().read(0);
+				chatPacket.jsonMessage = event.getPacket().getStrings().read(0);
 
-			if (this.jsonMessage != null && !this.jsonMessage.isEmpty())
+			if (chatPacket.jsonMessage != null && !chatPacket.jsonMessage.isEmpty())
 				// Only check valid messages, skipping those over 50k since it would cause rules
 				// to take too long and overflow. 99% packets are below this size, it may even be
 				// that such oversized packets are maliciously sent so we protect the server from freeze
-				if (this.jsonMessage.length() < 50_000) {
+				if (chatPacket.jsonMessage.length() < 50_000) {
 					final String legacyText;
 
 					// Catch errors from other plugins and silence them
 					try {
-						legacyText = Remain.toLegacyText(this.jsonMessage, false);
+						legacyText = this.toLegacyText(chatPacket.jsonMessage);
 
 					} catch (final Throwable t) {
 						return "";
@@ -434,14 +452,21 @@ public abstract class PacketListener {
 			}
 		}
 
+		/*
+		 * Convert the json to legacy text, caching the result
+		 */
+		private String toLegacyText(String json) {
+			return this.legacyTexts.get(json, key -> Remain.toLegacyText(key, false));
+		}
+
 		/*
 		 * Writes the edited message as JSON format from the event
 		 */
-		private void writeEditedMessage(String message, PacketEvent event) {
-			final PacketContainer packet = event.getPacket();
+		private void writeEditedMessage(String message, ChatPacket chatPacket) {
+			final PacketContainer packet = chatPacket.event.getPacket();
 
 			if (!this.editJson())
-				this.jsonMessage = Remain.toJson(message);
+				chatPacket.jsonMessage = this.editedJsons.get(message, Remain::toJson);
 
 			if (this.systemChat) {
 
@@ -458,20 +483,20 @@ public abstract class PacketListener {
 				}
 
 				try {
-					packet.getChatComponents().write(0, WrappedChatComponent.fromJson(this.jsonMessage));
+					packet.getChatComponents().write(0, WrappedChatComponent.fromJson(chatPacket.jsonMessage));
 
 				} catch (final FieldAccessException t) {
-					packet.getStrings().write(0, this.jsonMessage);
+					packet.getStrings().write(0, chatPacket.jsonMessage);
 				}
 
-			} else if (this.isBaseComponent)
-				packet.getModifier().writeSafely(this.adventure ? 2 : 1, Remain.toComponent(this.jsonMessage));
+			} else if (chatPacket.isBaseComponent)
+				packet.getModifier().writeSafely(chatPacket.adventure ? 2 : 1, Remain.toComponent(chatPacket.jsonMessage));
 
 			else if (MinecraftVersion.atLeast(V.v1_7))
-				packet.getChatComponents().writeSafely(0, WrappedChatComponent.fromJson(this.jsonMessage));
+				packet.getChatComponents().writeSafely(0, WrappedChatComponent.fromJson(chatPacket.jsonMessage));
 
 			else
-				packet.getStrings().writeSafely(0, SerializedMap.of("text", this.jsonMessage.substring(1, this.jsonMessage.length() - 1)).toJson());
+				packet.getStrings().writeSafely(0, SerializedMap.of("text", chatPacket.jsonMessage.substring(1, chatPacket.jsonMessage.length() - 1)).toJson());
 		}
 
 		/**
@@ -512,6 +537,39 @@ public abstract class PacketListener {
 		}
 	}
 
+	/**
+	 * The state of a single chat packet being processed by {@link SimpleChatAdapter}
+	 */
+	private static final class ChatPacket {
+
+		/**
+		 * The event being processed
+		 */
+		private final PacketEvent event;
+
+		/**
+		 * The currently filtered json message
+		 */
+		private String jsonMessage;
+
+		/**
+		 * Support md_5 BaseComponent API
+		 */
+		private boolean isBaseComponent = false;
+
+		/**
+		 * Support Adventure PaperSpigot library
+		 */
+		private boolean adventure = false;
+
+		/*
+		 * Create a new state for the given event
+		 */
+		private ChatPacket(PacketEvent event) {
+			this.event = event;
+		}
+	}
+
 	/**
 	 * A convenience class so that you don't have to specify which plugin is the owner of the packet adapter
 	 */
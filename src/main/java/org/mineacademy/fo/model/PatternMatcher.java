@@ -0,0 +1,485 @@
+package org.mineacademy.fo.model;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.annotation.Nullable;
+
+import org.mineacademy.fo.ChatUtil;
+import org.mineacademy.fo.Common;
+import org.mineacademy.fo.plugin.SimplePlugin;
+
+import lombok.Getter;
+
+/**
+ * A compiled set of regular expressions that avoids evaluating every
+ * pattern against every message.
+ * <p>
+ * We extract literals each pattern requires to match and put them into one
+ * {@link AhoCorasickMatcher}. A single scan of the message then tells us which
+ * patterns can possibly match, and only those are evaluated. Patterns without
+ * a required literal, such as "^.*$", are always evaluated.
+ * <p>
+ * Colors and accents are stripped from messages once, the same way as in
+ * {@link Common#compileMatcher(Pattern, String)}. Instances are immutable and thread-safe.
+ */
+public final class PatternMatcher {
+
+	/**
+	 * The patterns in the order given, null entries never match
+	 */
+	@Getter
+	private final List<Pattern> patterns;
+
+	/**
+	 * The automaton containing required literals from all patterns
+	 */
+	private final AhoCorasickMatcher literals;
+
+	/**
+	 * The pattern index each literal in the automaton belongs to
+	 */
+	private final int[] literalPatterns;
+
+	/**
+	 * Patterns which we could not extract literals from and are always evaluated
+	 */
+	private final BitSet alwaysEvaluated = new BitSet();
+
+	/**
+	 * Compile a new matcher for the given patterns, null patterns never match
+	 * but are always returned from {@link #findCandidates(String)}
+	 *
+	 * @param patterns
+	 */
+	public PatternMatcher(List<Pattern> patterns) {
+		this.patterns = Collections.unmodifiableList(new ArrayList<>(patterns));
+
+		final List<String> literals = new ArrayList<>();
+		final List<Integer> literalPatterns = new ArrayList<>();
+
+		for (int index = 0; index < this.patterns.size(); index++) {
+			final Pattern pattern = this.patterns.get(index);
+			final List<String> required = pattern == null ? null : extractLiterals(pattern);
+
+			if (required == null)
+				this.alwaysEvaluated.set(index);
+
+			else
+				for (final String literal : required) {
+					literals.add(literal);
+					literalPatterns.add(index);
+				}
+		}
+
+		this.literals = AhoCorasickMatcher.compile(literals, true);
+		this.literalPatterns = new int[literalPatterns.size()];
+
+		for (int i = 0; i < this.literalPatterns.length; i++)
+			this.literalPatterns[i] = literalPatterns.get(i);
+	}
+
+	/**
+	 * Return true if any pattern finds a match in the message
+	 *
+	 * @param message
+	 * @return
+	 */
+	public boolean find(String message) {
+		return this.findFirst(message) != -1;
+	}
+
+	/**
+	 * Return the index of the first pattern finding a match in the message, or -1
+	 *
+	 * @param message
+	 * @return
+	 */
+	public int findFirst(String message) {
+		final String strippedMessage = stripMessage(message);
+		final BitSet candidates = this.findCandidatesStripped(strippedMessage);
+
+		for (int index = candidates.nextSetBit(0); index >= 0; index = candidates.nextSetBit(index + 1))
+			if (this.matches(index, strippedMessage))
+				return index;
+
+		return -1;
+	}
+
+	/**
+	 * Return indexes of all patterns finding a match in the message
+	 *
+	 * @param message
+	 * @return
+	 */
+	public BitSet findAll(String message) {
+		final String strippedMessage = stripMessage(message);
+		final BitSet candidates = this.findCandidatesStripped(strippedMessage);
+
+		for (int index = candidates.nextSetBit(0); index >= 0; index = candidates.nextSetBit(index + 1))
+			if (!this.matches(index, strippedMessage))
+				candidates.clear(index);
+
+		return candidates;
+	}
+
+	/**
+	 * Return indexes of patterns which may match the message, without evaluating them
+	 *
+	 * @param message
+	 * @return
+	 */
+	public BitSet findCandidates(String message) {
+		return this.findCandidatesStripped(stripMessage(message));
+	}
+
+	/**
+	 * Return how many patterns are always evaluated because we found no literal they require
+	 *
+	 * @return
+	 */
+	public int getAlwaysEvaluatedCount() {
+		return this.alwaysEvaluated.cardinality();
+	}
+
+	/*
+	 * Mark patterns which have at least one of their literals in the message
+	 */
+	private BitSet findCandidatesStripped(String strippedMessage) {
+		final BitSet candidates = (BitSet) this.alwaysEvaluated.clone();
+
+		if (!this.literals.isEmpty())
+			this.literals.findAll(strippedMessage, literal -> {
+				candidates.set(this.literalPatterns[literal]);
+
+				return true;
+			});
+
+		return candidates;
+	}
+
+	/*
+	 * Evaluate the full pattern at the given index
+	 */
+	private boolean matches(int index, String strippedMessage) {
+		final Pattern pattern = this.patterns.get(index);
+
+		if (pattern == null)
+			return false;
+
+		final Matcher matcher = pattern.matcher(Common.TimedCharSequence.withSettingsLimit(strippedMessage, pattern));
+
+		return Common.regExMatch(matcher);
+	}
+
+	@Override
+	public String toString() {
+		return "PatternMatcher{patterns=" + this.patterns.size() + ", alwaysEvaluated=" + this.getAlwaysEvaluatedCount() + "}";
+	}
+
+	/*
+	 * Strip colors and accents from the message as configured in the plugin
+	 */
+	private static String stripMessage(String message) {
+		final SimplePlugin instance = SimplePlugin.getInstance();
+
+		String strippedMessage = instance.regexStripColors() ? Common.stripColors(message) : message;
+		strippedMessage = instance.regexStripAccents() ? ChatUtil.replaceDiacritic(strippedMessage) : strippedMessage;
+
+		return strippedMessage;
+	}
+
+	// ------------------------------------------------------------------------------------------------------------
+	// Literal extraction
+	// ------------------------------------------------------------------------------------------------------------
+
+	/**
+	 * Return literals of which at least one must be contained in every text the
+	 * pattern finds, or null if we cannot tell. We look at each top level alternative
+	 * and pick its longest run of plain characters outside of groups, classes and quantifiers.
+	 * <p>
+	 * Literals are meant to be matched case insensitive, so that they also work for
+	 * case insensitive patterns.
+	 *
+	 * @param pattern
+	 * @return
+	 */
+	@Nullable
+	public static List<String> extractLiterals(Pattern pattern) {
+		final String regex = pattern.pattern();
+		final int flags = pattern.flags();
+
+		if ((flags & Pattern.LITERAL) != 0)
+			return regex.isEmpty() ? null : Collections.singletonList(regex);
+
+		// Whitespace and comments would be ignored in the pattern, canonical equivalence changes characters
+		if ((flags & (Pattern.COMMENTS | Pattern.CANON_EQ)) != 0 || hasInlineCommentsFlag(regex))
+			return null;
+
+		final List<String> literals = new ArrayList<>();
+
+		for (final String alternative : splitAlternatives(regex)) {
+			final String literal = findLongestLiteral(alternative);
+
+			if (literal == null || literal.isEmpty())
+				return null;
+
+			literals.add(literal);
+		}
+
+		return literals.isEmpty() ? null : literals;
+	}
+
+	/*
+	 * Return true if any inline flag group such as (?ix) or (?i-x:...) enables comments
+	 */
+	private static boolean hasInlineCommentsFlag(String regex) {
+		for (int i = regex.indexOf("(?"); i != -1; i = regex.indexOf("(?", i + 2))
+			for (int j = i + 2; j < regex.length(); j++) {
+				final char character = regex.charAt(j);
+
+				if (character == 'x')
+					return true;
+
+				if (!Character.isLetter(character) && character != '-')
+					break;
+			}
+
+		return false;
+	}
+
+	/*
+	 * Split the regex by | outside of groups and character classes
+	 */
+	private static List<String> splitAlternatives(String regex) {
+		final List<String> alternatives = new ArrayList<>();
+		int depth = 0;
+		int start = 0;
+
+		for (int i = 0; i < regex.length(); i++) {
+			final char character = regex.charAt(i);
+
+			if (character == '\\')
+				i = skipEscape(regex, i);
+
+			else if (character == '[')
+				i = skipClass(regex, i);
+
+			else if (character == '(')
+				depth++;
+
+			else if (character == ')')
+				depth--;
+
+			else if (character == '|' && depth == 0) {
+				alternatives.add(regex.substring(start, i));
+
+				start = i + 1;
+			}
+		}
+
+		alternatives.add(regex.substring(start));
+
+		return alternatives;
+	}
+
+	/*
+	 * Return the longest run of characters every match of this alternative must contain,
+	 * or null if the alternative is malformed
+	 */
+	private static String findLongestLiteral(String regex) {
+		final StringBuilder current = new StringBuilder();
+		String longest = "";
+
+		for (int i = 0; i < regex.length(); i++) {
+			final char character = regex.charAt(i);
+			boolean appended = false;
+
+			if (character == '\\') {
+				final int end = skipEscape(regex, i);
+
+				if (end == i + 1 && !Character.isLetterOrDigit(regex.charAt(end))) {
+					current.append(regex.charAt(end));
+
+					appended = true;
+
+				} else {
+					longest = longer(longest, current);
+					current.setLength(0);
+				}
+
+				i = end;
+
+			} else if (character == '[' || character == '(' || character == '.' || character == '^' || character == '$') {
+				longest = longer(longest, current);
+				current.setLength(0);
+
+				if (character == '[')
+					i = skipClass(regex, i);
+
+				else if (character == '(') {
+					i = skipGroup(regex, i);
+
+					if (i == -1)
+						return null;
+				}
+
+			} else if (character == ')' || character == '|')
+				return null;
+
+			else {
+				current.append(character);
+
+				appended = true;
+			}
+
+			// Handle quantifiers following the atom we just read
+			if (i + 1 < regex.length()) {
+				final char quantifier = regex.charAt(i + 1);
+
+				if (quantifier == '*' || quantifier == '?' || quantifier == '{' || quantifier == '+') {
+
+					// The atom may be absent, remove it from the run
+					if (quantifier != '+' && appended)
+						current.setLength(current.length() - 1);
+
+					longest = longer(longest, current);
+					current.setLength(0);
+
+					i++;
+
+					if (quantifier == '{') {
+						i = regex.indexOf('}', i);
+
+						if (i == -1)
+							return null;
+					}
+
+					// Lazy or possessive quantifiers
+					if (i + 1 < regex.length() && (regex.charAt(i + 1) == '?' || regex.charAt(i + 1) == '+'))
+						i++;
+				}
+			}
+		}
+
+		return longer(longest, current);
+	}
+
+	/*
+	 * Return the longer of the two
+	 */
+	private static String longer(String longest, StringBuilder current) {
+		return current.length() > longest.length() ? current.toString() : longest;
+	}
+
+	/*
+	 * Return the index of the last character of the escape sequence starting at the given backslash,
+	 * we may include more characters than the sequence has but never less
+	 */
+	private static int skipEscape(String regex, int index) {
+		if (index + 1 >= regex.length())
+			return index;
+
+		final char type = regex.charAt(index + 1);
+		int end = index + 1;
+
+		switch (type) {
+
+			// Quoted section
+			case 'Q': {
+				final int quoteEnd = regex.indexOf("\\E", index + 2);
+
+				return quoteEnd == -1 ? regex.length() - 1 : quoteEnd + 1;
+			}
+
+			// Sequences with a name or code in brackets, i.e. \p{L} \x{1F600} \k<name>
+			case 'x':
+			case 'p':
+			case 'P':
+			case 'N':
+			case 'k': {
+				final char opening = end + 1 < regex.length() ? regex.charAt(end + 1) : 0;
+
+				if (opening == '{' || opening == '<') {
+					final int closing = regex.indexOf(opening == '{' ? '}' : '>', end + 1);
+
+					return closing == -1 ? regex.length() - 1 : closing;
+				}
+
+				return Math.min(end + (type == 'x' ? 2 : 1), regex.length() - 1);
+			}
+
+			case 'u':
+				return Math.min(end + 4, regex.length() - 1);
+
+			case 'c':
+				return Math.min(end + 1, regex.length() - 1);
+		}
+
+		// Octal values and back references
+		if (Character.isDigit(type))
+			while (end + 1 < regex.length() && Character.isDigit(regex.charAt(end + 1)))
+				end++;
+
+		return end;
+	}
+
+	/*
+	 * Return the index of the closing bracket of the character class starting at the given index
+	 */
+	private static int skipClass(String regex, int index) {
+		int depth = 0;
+
+		for (int i = index; i < regex.length(); i++) {
+			final char character = regex.charAt(i);
+
+			if (character == '\\')
+				i = skipEscape(regex, i);
+
+			else if (character == '[')
+				depth++;
+
+			else if (character == ']' && i > index + 1 && !(i == index + 2 && regex.charAt(index + 1) == '^')) {
+				depth--;
+
+				if (depth == 0)
+					return i;
+			}
+		}
+
+		return regex.length() - 1;
+	}
+
+	/*
+	 * Return the index of the closing bracket of the group starting at the given index, or -1
+	 */
+	private static int skipGroup(String regex, int index) {
+		int depth = 0;
+
+		for (int i = index; i < regex.length(); i++) {
+			final char character = regex.charAt(i);
+
+			if (character == '\\')
+				i = skipEscape(regex, i);
+
+			else if (character == '[')
+				i = skipClass(regex, i);
+
+			else if (character == '(')
+				depth++;
+
+			else if (character == ')') {
+				depth--;
+
+				if (depth == 0)
+					return i;
+			}
+		}
+
+		return -1;
+	}
+}
@@ -1,16 +1,28 @@
 package org.mineacademy.fo.model;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.regex.Matcher;
 
 import org.mineacademy.fo.Common;
+import org.mineacademy.fo.Valid;
 import org.mineacademy.fo.collection.SerializedMap;
 
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 
 /**
  * An elegant way to find {variables} and replace them.
+ * <p>
+ * Both {variable} and %variable% syntax is supported. The message is scanned
+ * only once and all replacements are written into a single buffer, so the cost
+ * does not grow with the amount of variables given.
+ * <p>
+ * Values replaced for %variables% may contain {variables} which are replaced too,
+ * other values are written as they are.
  */
 @AllArgsConstructor
 public final class Replacer {
@@ -24,10 +36,7 @@ public final class Replacer {
 	 * @return
 	 */
 	public static List<String> replaceArray(List<String> list, Object... replacements) {
-		String joined = String.join("%FLPV%", list);
-		joined = replaceArray(joined, replacements);
-
-		return java.util.Arrays.asList(joined.split("%FLPV%"));
+		return replace(list, toLookup(replacements));
 	}
 
 	/**
@@ -39,9 +48,13 @@ public final class Replacer {
 	 * @return
 	 */
 	public static String replaceArray(String message, Object... replacements) {
-		final SerializedMap map = SerializedMap.ofArray(replacements);
+		if (message == null)
+			return null;
+
+		if ("".equals(message))
+			return "";
 
-		return replaceVariables(message, map);
+		return replace(message, toLookup(replacements), false);
 	}
 
 	/**
@@ -53,10 +66,7 @@ public final class Replacer {
 	 * @return
 	 */
 	public static List<String> replaceVariables(List<String> list, SerializedMap replacements) {
-		String joined = String.join("%FLPV%", list);
-		joined = replaceVariables(joined, replacements);
-
-		return java.util.Arrays.asList(joined.split("%FLPV%"));
+		return replace(list, toLookup(replacements));
 	}
 
 	/**
@@ -73,15 +83,319 @@ public final class Replacer {
 		if ("".equals(message))
 			return "";
 
-		message = replaceVariables(message, variables, Variables.VARIABLE_PATTERN.matcher(message));
-		message = replaceVariables(message, variables, Variables.BRACKET_VARIABLE_PATTERN.matcher(message));
+		return replace(message, toLookup(variables), false);
+	}
+
+	/**
+	 * Split the given message into text and variables once so that you can
+	 * replace them many times later without scanning the message again.
+	 *
+	 * @param message
+	 * @return
+	 */
+	public static Template compile(String message) {
+		Valid.checkNotNull(message, "Cannot compile a null message");
+
+		final List<Object> parts = new ArrayList<>();
+		int last = 0;
+
+		for (int index = 0; index < message.length(); index++) {
+			final int end = findVariableEnd(message, index);
+
+			if (end == -1)
+				continue;
+
+			if (index > last)
+				parts.add(message.substring(last, index));
+
+			parts.add(Token.parse(message, index, end));
+
+			last = end + 1;
+			index = end;
+		}
+
+		if (last < message.length())
+			parts.add(message.substring(last));
+
+		return new Template(message, parts.toArray());
+	}
+
+	/*
+	 * Replace variables in each line of the list separately
+	 */
+	private static List<String> replace(List<String> list, Map<String, Object> lookup) {
+		final List<String> replaced = new ArrayList<>(list.size());
+
+		for (final String line : list)
+			replaced.add(line == null || line.isEmpty() ? line : replace(line, lookup, false));
+
+		return replaced;
+	}
+
+	/*
+	 * Scan the message once and replace variables found in the lookup map,
+	 * only replacing {variables} if bracketsOnly is true
+	 */
+	private static String replace(String message, Map<String, Object> lookup, boolean bracketsOnly) {
+		if (lookup.isEmpty())
+			return message;
+
+		StringBuilder builder = null;
+		int last = 0;
+
+		for (int index = 0; index < message.length(); index++) {
+			if (bracketsOnly && message.charAt(index) != '{')
+				continue;
+
+			final int end = findVariableEnd(message, index);
+
+			if (end == -1)
+				continue;
+
+			final Token token = Token.parse(message, index, end);
+			final Object value = lookup.get(token.getName());
+
+			if (value == null && !lookup.containsKey(token.getName()))
+				continue;
+
+			if (builder == null)
+				builder = new StringBuilder(message.length() + 16);
+
+			builder.append(message, last, index);
+			appendValue(builder, token, value, lookup);
+
+			last = end + 1;
+			index = end;
+		}
+
+		if (builder == null)
+			return message;
+
+		builder.append(message, last, message.length());
+
+		return builder.toString();
+	}
+
+	/*
+	 * Write the value of the variable, replacing {variables} in values of %variables%
+	 * the same way as when %variables% were replaced in a pass before {variables}
+	 */
+	private static void appendValue(StringBuilder builder, Token token, Object value, Map<String, Object> lookup) {
+		final int start = builder.length();
+
+		token.appendValue(builder, value);
+
+		if (token.getOpening() == '%' && builder.indexOf("{", start) != -1) {
+			final String replaced = replace(builder.substring(start), lookup, true);
+
+			builder.setLength(start);
+			builder.append(replaced);
+		}
+	}
+
+	/*
+	 * Return the index of the closing character if a %variable% or {variable}
+	 * starts at the given index, -1 otherwise
+	 */
+	private static int findVariableEnd(String message, int start) {
+		final char opening = message.charAt(start);
+
+		if (opening != '%' && opening != '{')
+			return -1;
+
+		final char closing = opening == '%' ? '%' : '}';
+
+		for (int index = start + 1; index < message.length(); index++) {
+			final char character = message.charAt(index);
+
+			if (character == closing)
+				return index > start + 1 ? index : -1;
+
+			// Nested brackets, let the inner one match instead
+			if (opening == '{' && character == '{')
+				return -1;
+		}
+
+		return -1;
+	}
+
+	/*
+	 * Build a variable name to value map from associative array, removing {} from keys
+	 */
+	private static Map<String, Object> toLookup(Object... replacements) {
+		if (replacements != null && replacements.length == 1)
+			return toLookup(SerializedMap.ofArray(replacements));
+
+		final Map<String, Object> lookup = new HashMap<>();
+
+		if (replacements != null)
+			for (int i = 0; i + 1 < replacements.length; i += 2) {
+				final Object key = replacements[i];
+				Valid.checkBoolean(key instanceof String, "Expected String, got " + (key == null ? "null" : key.getClass().getSimpleName()) + ": " + key);
+
+				lookup.put(stripBrackets((String) key), replacements[i + 1]);
+			}
+
+		return lookup;
+	}
+
+	/*
+	 * Build a variable name to value map from the serialized map, removing {} from keys
+	 */
+	private static Map<String, Object> toLookup(SerializedMap variables) {
+		final Map<String, Object> lookup = new HashMap<>(Math.max(16, variables.size() * 2));
+
+		for (final Map.Entry<String, Object> entry : variables.entrySet())
+			lookup.put(stripBrackets(entry.getKey()), entry.getValue());
 
-		return message;
+		return lookup;
 	}
 
-	private static String replaceVariables(String message, SerializedMap variables, Matcher matcher) {
-		while (matcher.find()) {
-			String variable = matcher.group(1);
+	/*
+	 * Remove the leading { and trailing } from the key
+	 */
+	private static String stripBrackets(String key) {
+		final int start = key.startsWith("{") ? 1 : 0;
+		final int end = key.endsWith("}") && key.length() > start ? key.length() - 1 : key.length();
+
+		return start == 0 && end == key.length() ? key : key.substring(start, end);
+	}
+
+	/**
+	 * Represents a message that has been split into text and variables,
+	 * see {@link Replacer#compile(String)}. Immutable and thread-safe.
+	 */
+	@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+	public static final class Template {
+
+		/**
+		 * The original message
+		 */
+		@Getter
+		private final String message;
+
+		/**
+		 * The text strings and variable tokens in order
+		 */
+		private final Object[] parts;
+
+		/**
+		 * Replace variables in the {@link SerializedMap#ofArray(Object...)} format
+		 *
+		 * @param replacements
+		 * @return
+		 */
+		public String replaceArray(Object... replacements) {
+			return this.replace(toLookup(replacements));
+		}
+
+		/**
+		 * Replace key pairs in the template
+		 *
+		 * @param variables
+		 * @return
+		 */
+		public String replaceVariables(SerializedMap variables) {
+			return this.replace(toLookup(variables));
+		}
+
+		/*
+		 * Write the text and found variables into one buffer, leaving unknown variables as they are
+		 */
+		private String replace(Map<String, Object> lookup) {
+			final StringBuilder builder = new StringBuilder(this.message.length() + 16);
+
+			for (final Object part : this.parts)
+				if (part instanceof Token) {
+					final Token token = (Token) part;
+					final Object value = lookup.get(token.getName());
+
+					if (value != null || lookup.containsKey(token.getName()))
+						appendValue(builder, token, value, lookup);
+					else
+						token.appendRaw(builder);
+
+				} else
+					builder.append((String) part);
+
+			return builder.toString();
+		}
+
+		@Override
+		public String toString() {
+			return "Template{" + this.message + "}";
+		}
+	}
+
+	/*
+	 * A single variable found in the message
+	 */
+	@Getter
+	@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+	private static final class Token {
+
+		/**
+		 * The opening character, either % or {
+		 */
+		private final char opening;
+
+		/**
+		 * The variable name without brackets and spacing flags
+		 */
+		private final String name;
+
+		/**
+		 * Add a space before the value if it is not empty
+		 */
+		private final boolean frontSpace;
+
+		/**
+		 * Add a space after the value if it is not empty
+		 */
+		private final boolean backSpace;
+
+		/*
+		 * Write the variable as it appeared in the message, i.e. {+player}
+		 */
+		void appendRaw(StringBuilder builder) {
+			builder.append(this.opening);
+
+			if (this.frontSpace)
+				builder.append('+');
+
+			builder.append(this.name);
+
+			if (this.backSpace)
+				builder.append('+');
+
+			builder.append(this.opening == '%' ? '%' : '}');
+		}
+
+		/*
+		 * Colorize and write the value, adding spaces around it if requested
+		 */
+		void appendValue(StringBuilder builder, Object rawValue) {
+			final String value = rawValue == null ? "null" : rawValue.toString();
+
+			if (value.isEmpty())
+				return;
+
+			final boolean emptyColorless = Common.stripColors(value).isEmpty();
+
+			if (this.frontSpace && !emptyColorless)
+				builder.append(' ');
+
+			builder.append(Common.colorize(value));
+
+			if (this.backSpace && !emptyColorless)
+				builder.append(' ');
+		}
+
+		/*
+		 * Parse the variable between the given opening and closing character indexes
+		 */
+		static Token parse(String message, int start, int end) {
+			String variable = message.substring(start + 1, end);
 
 			boolean frontSpace = false;
 			boolean backSpace = false;
@@ -98,26 +412,7 @@ public final class Replacer {
 				backSpace = true;
 			}
 
-			String value = null;
-
-			for (final Map.Entry<String, Object> entry : variables.entrySet()) {
-				String variableKey = entry.getKey();
-
-				variableKey = variableKey.startsWith("{") ? variableKey.substring(1) : variableKey;
-				variableKey = variableKey.endsWith("}") ? variableKey.substring(0, variableKey.length() - 1) : variableKey;
-
-				if (variableKey.equals(variable))
-					value = entry.getValue() == null ? "null" : entry.getValue().toString();
-			}
-
-			if (value != null) {
-				final boolean emptyColorless = Common.stripColors(value).isEmpty();
-				value = value.isEmpty() ? "" : (frontSpace && !emptyColorless ? " " : "") + Common.colorize(value) + (backSpace && !emptyColorless ? " " : "");
-
-				message = message.replace(matcher.group(), value);
-			}
+			return new Token(message.charAt(start), variable, frontSpace, backSpace);
 		}
-
-		return message;
 	}
 }
@@ -0,0 +1,105 @@
+package org.mineacademy.fo.model;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+import javax.annotation.Nullable;
+
+import lombok.Getter;
+
+/**
+ * A compiled matcher over a rule set that avoids evaluating every rule's
+ * regular expression against every message, see {@link PatternMatcher}.
+ * <p>
+ * Rule order is preserved. Instances are immutable and thread-safe,
+ * rebuild them when your rules are reloaded, see {@link RuleSetReader#compileMatcher(List, Function)}.
+ *
+ * @param <T>
+ */
+public final class RuleMatcher<T extends Rule> {
+
+	/**
+	 * The rules in the order they were loaded
+	 */
+	@Getter
+	private final List<T> rules;
+
+	/**
+	 * The compiled patterns of rules, by rule index
+	 */
+	@Getter
+	private final PatternMatcher patternMatcher;
+
+	/**
+	 * Compile a new matcher for the given rules
+	 *
+	 * @param rules
+	 * @param patternGetter function returning the compiled pattern for each rule, or null if the rule has none
+	 */
+	public RuleMatcher(List<T> rules, Function<T, Pattern> patternGetter) {
+		this.rules = Collections.unmodifiableList(new ArrayList<>(rules));
+
+		final List<Pattern> patterns = new ArrayList<>(rules.size());
+
+		for (final T rule : this.rules)
+			patterns.add(patternGetter.apply(rule));
+
+		this.patternMatcher = new PatternMatcher(patterns);
+	}
+
+	/**
+	 * Return rules that may match the message in their order, without evaluating their patterns.
+	 * Rules without a pattern are always returned.
+	 *
+	 * @param message
+	 * @return
+	 */
+	public List<T> getCandidates(String message) {
+		return this.toRules(this.patternMatcher.findCandidates(message));
+	}
+
+	/**
+	 * Return all rules whose pattern finds a match in the message, in their order.
+	 * Rules without a pattern are never returned, see {@link #getCandidates(String)}.
+	 *
+	 * @param message
+	 * @return
+	 */
+	public List<T> findMatching(String message) {
+		return this.toRules(this.patternMatcher.findAll(message));
+	}
+
+	/**
+	 * Return the first rule whose pattern finds a match in the message, or null
+	 *
+	 * @param message
+	 * @return
+	 */
+	@Nullable
+	public T findFirst(String message) {
+		final int index = this.patternMatcher.findFirst(message);
+
+		return index == -1 ? null : this.rules.get(index);
+	}
+
+	/*
+	 * Return rules at the given indexes in order
+	 */
+	private List<T> toRules(BitSet indexes) {
+		final List<T> rules = new ArrayList<>(indexes.cardinality());
+
+		for (int index = indexes.nextSetBit(0); index >= 0; index = indexes.nextSetBit(index + 1))
+			rules.add(this.rules.get(index));
+
+		return rules;
+	}
+
+	@Override
+	public String toString() {
+		return "RuleMatcher{rules=" + this.rules.size() + ", alwaysEvaluated=" + this.patternMatcher.getAlwaysEvaluatedCount() + "}";
+	}
+}
@@ -4,6 +4,8 @@ import java.io.File;
 import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Function;
+import java.util.regex.Pattern;
 
 import org.mineacademy.fo.Common;
 import org.mineacademy.fo.FileUtil;
@@ -21,6 +23,11 @@ public abstract class RuleSetReader<T extends Rule> {
 	 */
 	private final String newKeyword;
 
+	/**
+	 * The optional compiled matcher over loaded rules, see {@link #compileMatcher(List, Function)}
+	 */
+	private volatile RuleMatcher<T> matcher;
+
 	/**
 	 * Create a new rule set reader for the matching keyword
 	 * that will dictate new rule creation
@@ -92,9 +99,38 @@ public abstract class RuleSetReader<T extends Rule> {
 	protected final void saveAndLoad(File file, List<String> lines) {
 		FileUtil.write(file, lines, StandardOpenOption.TRUNCATE_EXISTING);
 
+		// Rules are recreated, the matcher is compiled again from load() if used
+		this.matcher = null;
 		this.load();
 	}
 
+	/**
+	 * Compile a matcher over the given rules that only evaluates regular expressions
+	 * of rules which can possibly match a message. Call this at the end of your {@link #load()}
+	 * so that it is rebuilt every time rules are reloaded, then use {@link #getMatcher()}.
+	 *
+	 * @param rules
+	 * @param patternGetter function returning the compiled pattern for each rule, or null if the rule has none
+	 * @return
+	 */
+	protected final RuleMatcher<T> compileMatcher(List<T> rules, Function<T, Pattern> patternGetter) {
+		final RuleMatcher<T> matcher = new RuleMatcher<>(rules, patternGetter);
+
+		this.matcher = matcher;
+
+		return matcher;
+	}
+
+	/**
+	 * Return the matcher compiled from the last loaded rules, or null if
+	 * {@link #compileMatcher(List, Function)} was not called
+	 *
+	 * @return
+	 */
+	public final RuleMatcher<T> getMatcher() {
+		return this.matcher;
+	}
+
 	/**
 	 * Load rules from the given file path in your plugin folder
 	 * The file will be extract from your jar so it must exists.
@@ -0,0 +1,210 @@
+package org.mineacademy.fo.model;
+
+import javax.annotation.Nullable;
+
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+import org.mineacademy.fo.Valid;
+import org.mineacademy.fo.plugin.SimplePlugin;
+
+import lombok.Getter;
+
+/**
+ * A repeating animation frame, an alternative to {@link SimpleRunnable} for
+ * tasks running every few ticks such as bossbar, title or menu animations.
+ * <p>
+ * Animations do not create their own scheduler tasks, they are all advanced
+ * from one shared timing wheel ticking once per tick. Animations for a player
+ * are cancelled automatically when the player leaves, override {@link #isActive()}
+ * to add your own conditions.
+ * <p>
+ * Since animations are not registered in the Bukkit scheduler, they can only be
+ * stopped by calling {@link #cancel()}, not by their task id.
+ */
+public abstract class SimpleAnimation implements Runnable, BukkitTask {
+
+	/**
+	 * The player this animation is shown to, or null
+	 */
+	@Getter
+	@Nullable
+	private final Player viewer;
+
+	/**
+	 * Should we move the first frame to the least busy tick within one period?
+	 */
+	@Getter
+	private boolean spread = false;
+
+	/**
+	 * Do we run off the main thread?
+	 */
+	private boolean async = false;
+
+	/**
+	 * The ticks between frames, 0 if not scheduled yet
+	 */
+	long period = 0;
+
+	/**
+	 * How many more turns of the wheel we wait for before running, only used by the wheel
+	 */
+	int rounds = 0;
+
+	/**
+	 * The unique negative id of this animation, see {@link SimpleTask#nextUnregisteredTaskId()}
+	 */
+	private final int taskId = SimpleTask.nextUnregisteredTaskId();
+
+	/**
+	 * Is this animation cancelled?
+	 */
+	private volatile boolean cancelled = false;
+
+	/**
+	 * Create a new animation not bound to any player
+	 */
+	protected SimpleAnimation() {
+		this(null);
+	}
+
+	/**
+	 * Create a new animation cancelled automatically when the player leaves
+	 *
+	 * @param viewer
+	 */
+	protected SimpleAnimation(@Nullable Player viewer) {
+		this.viewer = viewer;
+	}
+
+	/**
+	 * Return if we should keep running, called before each frame. If false,
+	 * the animation is cancelled.
+	 *
+	 * @return
+	 */
+	protected boolean isActive() {
+		return this.viewer == null || this.viewer.isOnline();
+	}
+
+	/**
+	 * Set if the first frame should be moved to the least busy tick within one period
+	 * after the delay, so that animations started at once do not all run at the same tick.
+	 * <p>
+	 * Must be called before the animation is started.
+	 *
+	 * @param spread
+	 * @return
+	 */
+	public final SimpleAnimation setSpread(boolean spread) {
+		Valid.checkBoolean(this.period == 0, "Cannot change spreading of an animation that is already running");
+
+		this.spread = spread;
+		return this;
+	}
+
+	/**
+	 * Start running this animation on the main thread
+	 *
+	 * @param delay the ticks to wait before the first frame
+	 * @param period the ticks to wait between frames
+	 * @return
+	 */
+	public final synchronized SimpleAnimation runTimer(long delay, long period) {
+		return this.start(AnimationTimingWheel.SYNC, delay, period);
+	}
+
+	/**
+	 * Start running this animation off the main thread
+	 *
+	 * @param delay the ticks to wait before the first frame
+	 * @param period the ticks to wait between frames
+	 * @return
+	 */
+	public final synchronized SimpleAnimation runTimerAsync(long delay, long period) {
+		this.async = true;
+
+		return this.start(AnimationTimingWheel.ASYNC, delay, period);
+	}
+
+	/*
+	 * Put this animation onto the given wheel
+	 */
+	private SimpleAnimation start(AnimationTimingWheel wheel, long delay, long period) {
+		Valid.checkBoolean(this.period == 0, "Animation " + this + " is already running");
+
+		this.period = Math.max(1, period);
+		wheel.schedule(this, delay);
+
+		return this;
+	}
+
+	/**
+	 * Stop this animation, the current frame is finished
+	 */
+	@Override
+	public final void cancel() {
+		this.cancelled = true;
+	}
+
+	/**
+	 * @see org.bukkit.scheduler.BukkitTask#isCancelled()
+	 */
+	@Override
+	public final boolean isCancelled() {
+		return this.cancelled;
+	}
+
+	/**
+	 * Return the unique negative id of this animation. Animations are not registered
+	 * in the Bukkit scheduler so cancelling them by this id does nothing, use {@link #cancel()}
+	 *
+	 * @see org.bukkit.scheduler.BukkitTask#getTaskId()
+	 */
+	@Override
+	public final int getTaskId() {
+		return this.taskId;
+	}
+
+	/**
+	 * @see org.bukkit.scheduler.BukkitTask#isSync()
+	 */
+	@Override
+	public final boolean isSync() {
+		return !this.async;
+	}
+
+	/**
+	 * @see org.bukkit.scheduler.BukkitTask#getOwner()
+	 */
+	@Override
+	public final Plugin getOwner() {
+		return SimplePlugin.getInstance();
+	}
+
+	@Override
+	public String toString() {
+		return this.getClass().getSimpleName() + "{viewer=" + (this.viewer == null ? "none" : this.viewer.getName()) + ", period=" + this.period + ", async=" + this.async + "}";
+	}
+
+	/**
+	 * Cancel all animations, called when the plugin is reloaded or disabled
+	 *
+	 * @deprecated internal use only
+	 */
+	@Deprecated
+	public static void cancelAll() {
+		AnimationTimingWheel.SYNC.clear();
+		AnimationTimingWheel.ASYNC.clear();
+	}
+
+	/**
+	 * Return how many animations are currently scheduled
+	 *
+	 * @return
+	 */
+	public static int getRunningCount() {
+		return AnimationTimingWheel.SYNC.size() + AnimationTimingWheel.ASYNC.size();
+	}
+}
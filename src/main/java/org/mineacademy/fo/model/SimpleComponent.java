@@ -2,8 +2,11 @@ package org.mineacademy.fo.model;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.regex.Pattern;
 
 import javax.annotation.Nullable;
@@ -24,10 +27,12 @@ import org.mineacademy.fo.exception.FoScriptException;
 import org.mineacademy.fo.remain.CompMaterial;
 import org.mineacademy.fo.remain.Remain;
 
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.Getter;
 import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
 import net.md_5.bungee.api.ChatColor;
 import net.md_5.bungee.api.chat.BaseComponent;
 import net.md_5.bungee.api.chat.ClickEvent;
@@ -361,10 +366,33 @@ public final class SimpleComponent implements ConfigSerializable {
 	 * @return
 	 */
 	public TextComponent build(final CommandSender receiver) {
+		return this.build(this.getVisibleParts(receiver));
+	}
+
+	/*
+	 * Return indexes of parts the receiver can see, the current component is last
+	 */
+	private BitSet getVisibleParts(final CommandSender receiver) {
+		final BitSet visibleParts = new BitSet(this.pastComponents.size() + 1);
+
+		for (int i = 0; i < this.pastComponents.size(); i++)
+			if (this.pastComponents.get(i).canSendTo(receiver))
+				visibleParts.set(i);
+
+		if (this.currentComponent != null && this.currentComponent.canSendTo(receiver))
+			visibleParts.set(this.pastComponents.size());
+
+		return visibleParts;
+	}
+
+	/*
+	 * Builds the given parts into a new component
+	 */
+	private TextComponent build(final BitSet visibleParts) {
 		TextComponent preparedComponent = null;
 
-		for (final Part part : this.pastComponents) {
-			final TextComponent component = part.toTextComponent(true, receiver);
+		for (int i = 0; i < this.pastComponents.size(); i++) {
+			final TextComponent component = visibleParts.get(i) ? this.pastComponents.get(i).toTextComponent(false, null) : null;
 
 			if (component != null)
 				if (preparedComponent == null)
@@ -373,7 +401,7 @@ public final class SimpleComponent implements ConfigSerializable {
 					this.addExtra(preparedComponent, component);
 		}
 
-		final TextComponent currentComponent = this.currentComponent == null ? null : this.currentComponent.toTextComponent(true, receiver);
+		final TextComponent currentComponent = this.currentComponent == null || !visibleParts.get(this.pastComponents.size()) ? null : this.currentComponent.toTextComponent(false, null);
 
 		if (currentComponent != null)
 			if (preparedComponent == null)
@@ -460,51 +488,78 @@ public final class SimpleComponent implements ConfigSerializable {
 	 * If they are console, they receive a plain text message.
 	 *
 	 * We will also replace relation placeholders if the sender is set and is player.
+	 * <p>
+	 * Receivers seeing the same parts share one built and serialized component,
+	 * unless it has relation placeholders or {@link #setFiringEvent(boolean)} is enabled.
 	 *
 	 * @param <T>
 	 * @param sender
 	 * @param receivers
 	 */
 	public <T extends CommandSender> void sendAs(@Nullable final CommandSender sender, final Iterable<T> receivers) {
+		final Map<BitSet, PreparedComponent> preparedComponents = new HashMap<>();
+
 		for (final CommandSender receiver : receivers) {
+			final BitSet visibleParts = this.getVisibleParts(receiver);
+			PreparedComponent prepared = preparedComponents.get(visibleParts);
 
-			TextComponent component = this.build(receiver);
+			if (prepared == null) {
+				prepared = new PreparedComponent(this.build(visibleParts));
 
-			if (receiver instanceof Player && sender instanceof Player)
-				this.setRelationPlaceholders(component, (Player) receiver, (Player) sender);
+				preparedComponents.put(visibleParts, prepared);
+			}
 
-			if (this.firingEvent) {
-				final SimpleComponentSendEvent event = new SimpleComponentSendEvent(sender, receiver, component);
+			final boolean relation = receiver instanceof Player && sender instanceof Player && prepared.hasRelationPlaceholders();
 
-				if (!Common.callEvent(event))
-					continue;
+			// Build a copy for this receiver only
+			if (relation || this.firingEvent) {
+				TextComponent component = this.build(visibleParts);
 
-				component = event.getComponent();
-			}
+				if (relation)
+					this.setRelationPlaceholders(component, (Player) receiver, (Player) sender);
 
-			final String legacy = Common.colorize(component.toLegacyText());
+				if (this.firingEvent) {
+					final SimpleComponentSendEvent event = new SimpleComponentSendEvent(sender, receiver, component);
 
-			if (Common.stripColors(legacy).trim().isEmpty() && this.ignoreEmpty) {
-				Debugger.debug("component", "Message is empty, skipping.");
+					if (!Common.callEvent(event))
+						continue;
 
-				continue;
+					component = event.getComponent();
+				}
+
+				prepared = new PreparedComponent(component);
 			}
 
-			// Prevent clients being kicked out, so we just send plain message instead
-			if (STRIP_OVERSIZED_COMPONENTS && Remain.toJson(component).length() + 1 >= Short.MAX_VALUE) {
-				if (legacy.length() + 1 >= Short.MAX_VALUE)
-					Common.warning("JSON Message to " + receiver.getName() + " was too large and could not be sent: '" + legacy + "'");
+			this.sendPrepared(receiver, prepared);
+		}
+	}
 
-				else {
-					final int oversize = Remain.toJson(component).length() + 1 - Short.MAX_VALUE;
-					Common.warning("JSON Message to " + receiver.getName() + " was " + oversize + " bytes oversize, removing interactive elements to avoid kick. Sending plain: '" + legacy + "'");
+	/*
+	 * Send the component, or its plain version if it is too large
+	 */
+	private void sendPrepared(final CommandSender receiver, final PreparedComponent prepared) {
+		final String legacy = prepared.getLegacy();
 
-					receiver.sendMessage(legacy);
-				}
+		if (this.ignoreEmpty && prepared.isEmpty()) {
+			Debugger.debug("component", "Message is empty, skipping.");
 
-			} else
-				Remain.sendComponent(receiver, component);
+			return;
 		}
+
+		// Prevent clients being kicked out, so we just send plain message instead
+		if (STRIP_OVERSIZED_COMPONENTS && prepared.getJson().length() + 1 >= Short.MAX_VALUE) {
+			if (legacy.length() + 1 >= Short.MAX_VALUE)
+				Common.warning("JSON Message to " + receiver.getName() + " was too large and could not be sent: '" + legacy + "'");
+
+			else {
+				final int oversize = prepared.getJson().length() + 1 - Short.MAX_VALUE;
+				Common.warning("JSON Message to " + receiver.getName() + " was " + oversize + " bytes oversize, removing interactive elements to avoid kick. Sending plain: '" + legacy + "'");
+
+				receiver.sendMessage(legacy);
+			}
+
+		} else
+			Remain.sendComponent(receiver, prepared.getComponent());
 	}
 
 	/*
@@ -816,6 +871,77 @@ public final class SimpleComponent implements ConfigSerializable {
 	// Classes
 	// --------------------------------------------------------------------
 
+	/**
+	 * A built component shared between receivers, serializing it only once
+	 */
+	@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+	private static final class PreparedComponent {
+
+		/**
+		 * The built component
+		 */
+		@Getter
+		private final TextComponent component;
+
+		/**
+		 * The colorized legacy text, computed on first use
+		 */
+		private String legacy;
+
+		/**
+		 * The JSON, computed on first use
+		 */
+		private String json;
+
+		/**
+		 * Is the legacy text empty without colors? Computed on first use
+		 */
+		private Boolean empty;
+
+		/*
+		 * Return the colorized legacy text
+		 */
+		private String getLegacy() {
+			if (this.legacy == null)
+				this.legacy = Common.colorize(this.component.toLegacyText());
+
+			return this.legacy;
+		}
+
+		/*
+		 * Return the component as JSON
+		 */
+		private String getJson() {
+			if (this.json == null)
+				this.json = Remain.toJson(this.component);
+
+			return this.json;
+		}
+
+		/*
+		 * Return true if the message has no visible text
+		 */
+		private boolean isEmpty() {
+			if (this.empty == null)
+				this.empty = Common.stripColors(this.getLegacy()).trim().isEmpty();
+
+			return this.empty;
+		}
+
+		/*
+		 * Return true if the component may contain PlaceholderAPI relation placeholders
+		 * in either the %rel_name% or {rel_name} syntax
+		 */
+		private boolean hasRelationPlaceholders() {
+			if (!HookManager.isPlaceholderAPILoaded())
+				return false;
+
+			final String json = this.getJson();
+
+			return json.contains("%rel_") || json.contains("{rel_");
+		}
+	}
+
 	/**
 	 * The part that is being created
 	 */
@@ -13,6 +13,8 @@ import org.bukkit.entity.Entity;
 import org.bukkit.entity.EntityType;
 import org.bukkit.scheduler.BukkitTask;
 import org.mineacademy.fo.Common;
+import org.mineacademy.fo.MinecraftVersion;
+import org.mineacademy.fo.MinecraftVersion.V;
 import org.mineacademy.fo.Valid;
 import org.mineacademy.fo.remain.CompMaterial;
 import org.mineacademy.fo.remain.CompParticle;
@@ -33,6 +35,18 @@ public abstract class SimpleHologram {
 	@Setter
 	private static double loreLineHeight = 0.26D;
 
+	/**
+	 * The distance in blocks within which players see virtual holograms
+	 */
+	@Getter
+	@Setter
+	private static double virtualViewDistance = 48D;
+
+	/**
+	 * How often in ticks we check which players are close to virtual holograms
+	 */
+	private static final int VIEWERS_CHECK_INTERVAL = 10;
+
 	/**
 	 * A registry of created animated items
 	 */
@@ -44,6 +58,11 @@ public abstract class SimpleHologram {
 	 */
 	private static BukkitTask tickingTask = null;
 
+	/**
+	 * How many times the ticking task has run
+	 */
+	private static int ticks = 0;
+
 	/**
 	 * The armor stand names, each line spawns another invisible stand
 	 */
@@ -78,11 +97,36 @@ public abstract class SimpleHologram {
 	 */
 	private Location pendingTeleport = null;
 
+	/*
+	 * Sends packets for virtual holograms, null if we spawn real entities
+	 */
+	private final VirtualHologramRenderer virtualRenderer;
+
 	/*
 	 * Constructs a new item and registers it
 	 */
 	protected SimpleHologram(Location spawnLocation) {
+		this(spawnLocation, false);
+	}
+
+	/**
+	 * Constructs a new hologram and registers it.
+	 * <p>
+	 * Virtual holograms spawn no entities in the world. Their lore is sent as packets
+	 * only to players within {@link #getVirtualViewDistance()}, and {@link #createEntity()}
+	 * is never called. Requires ProtocolLib and Minecraft 1.9 or newer.
+	 *
+	 * @param spawnLocation
+	 * @param virtual
+	 */
+	protected SimpleHologram(Location spawnLocation, boolean virtual) {
+		if (virtual) {
+			Valid.checkBoolean(HookManager.isProtocolLibLoaded(), "Virtual holograms require ProtocolLib");
+			Valid.checkBoolean(MinecraftVersion.atLeast(V.v1_9), "Virtual holograms require Minecraft 1.9 or newer");
+		}
+
 		this.lastTeleportLocation = spawnLocation.clone();
+		this.virtualRenderer = virtual ? new VirtualHologramRenderer() : null;
 
 		registeredItems.add(this);
 
@@ -107,18 +151,19 @@ public abstract class SimpleHologram {
 	 */
 	private static BukkitTask scheduleTickingTask() {
 		return Common.runTimer(1, () -> {
+			final boolean checkViewers = ticks++ % VIEWERS_CHECK_INTERVAL == 0;
 
 			for (final Iterator<SimpleHologram> it = registeredItems.iterator(); it.hasNext();) {
 				final SimpleHologram model = it.next();
 
 				if (model.isSpawned())
-					if (!model.getEntity().isValid() || model.getEntity().isDead()) {
+					if (!model.isVirtual() && (!model.getEntity().isValid() || model.getEntity().isDead())) {
 						model.removeLore();
 						model.getEntity().remove();
 
 						it.remove();
 					} else
-						model.tick();
+						model.tick(checkViewers);
 			}
 		});
 	}
@@ -131,6 +176,12 @@ public abstract class SimpleHologram {
 	public SimpleHologram spawn() {
 		Valid.checkBoolean(!this.isSpawned(), this + " is already spawned!");
 
+		if (this.isVirtual()) {
+			this.virtualRenderer.spawn(this.lastTeleportLocation, this.loreLines);
+
+			return this;
+		}
+
 		this.entity = this.createEntity();
 		Valid.checkNotNull(this.entity, "Failed to spawn entity from " + this);
 
@@ -173,18 +224,26 @@ public abstract class SimpleHologram {
 	/*
 	 * Iterate the ticking mechanism of this entity
 	 */
-	private void tick() {
+	private void tick(boolean checkViewers) {
 
 		if (this.pendingTeleport != null) {
-			this.entity.teleport(this.pendingTeleport);
+			if (this.isVirtual())
+				this.virtualRenderer.teleport(this.pendingTeleport);
+
+			else {
+				this.entity.teleport(this.pendingTeleport);
 
-			for (final ArmorStand loreEntity : this.loreEntities)
-				loreEntity.teleport(this.pendingTeleport);
+				for (final ArmorStand loreEntity : this.loreEntities)
+					loreEntity.teleport(this.pendingTeleport);
+			}
 
 			this.pendingTeleport = null;
 			return;
 		}
 
+		if (this.isVirtual())
+			this.virtualRenderer.update(this.loreLines, checkViewers);
+
 		this.onTick();
 
 		for (final Tuple<CompParticle, Object> tuple : this.particles) {
@@ -211,7 +270,16 @@ public abstract class SimpleHologram {
 	 * @return
 	 */
 	public final boolean isSpawned() {
-		return this.entity != null;
+		return this.isVirtual() ? this.virtualRenderer.isSpawned() : this.entity != null;
+	}
+
+	/**
+	 * Return true if this hologram only exists as packets sent to nearby players
+	 *
+	 * @return
+	 */
+	public final boolean isVirtual() {
+		return this.virtualRenderer != null;
 	}
 
 	/**
@@ -219,6 +287,10 @@ public abstract class SimpleHologram {
 	 */
 	public final void removeLore() {
 		this.loreEntities.forEach(ArmorStand::remove);
+
+		// Lines are removed from viewers on the next tick
+		if (this.isVirtual())
+			this.loreLines.clear();
 	}
 
 	/**
@@ -260,7 +332,7 @@ public abstract class SimpleHologram {
 	public final Location getLocation() {
 		this.checkSpawned("getLocation");
 
-		return this.entity.getLocation();
+		return this.isVirtual() ? this.getLastTeleportLocation() : this.entity.getLocation();
 	}
 
 	/**
@@ -281,7 +353,7 @@ public abstract class SimpleHologram {
 		Valid.checkBoolean(this.pendingTeleport == null, this + " is already pending teleport to " + this.pendingTeleport);
 		this.checkSpawned("teleport");
 
-		this.lastTeleportLocation.setX(location.getY());
+		this.lastTeleportLocation.setX(location.getX());
 		this.lastTeleportLocation.setY(location.getY());
 		this.lastTeleportLocation.setZ(location.getZ());
 
@@ -297,6 +369,9 @@ public abstract class SimpleHologram {
 		if (this.entity != null)
 			this.entity.remove();
 
+		if (this.isVirtual())
+			this.virtualRenderer.remove();
+
 		registeredItems.remove(this);
 	}
 
@@ -323,7 +398,10 @@ public abstract class SimpleHologram {
 		for (final Iterator<SimpleHologram> it = registeredItems.iterator(); it.hasNext();) {
 			final SimpleHologram item = it.next();
 
-			if (item.isSpawned())
+			if (item.isVirtual())
+				item.virtualRenderer.remove();
+
+			else if (item.isSpawned())
 				item.getEntity().remove();
 
 			item.removeLore();
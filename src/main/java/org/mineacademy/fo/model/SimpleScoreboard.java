@@ -2,7 +2,11 @@ package org.mineacademy.fo.model;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.regex.Pattern;
 
@@ -19,10 +23,10 @@ import org.mineacademy.fo.MinecraftVersion;
 import org.mineacademy.fo.MinecraftVersion.V;
 import org.mineacademy.fo.SerializeUtil;
 import org.mineacademy.fo.Valid;
-import org.mineacademy.fo.plugin.SimplePlugin;
 
 import lombok.Getter;
 import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
 
 /**
  * A simple way of rendering custom scoreboards for players with close to no flickering.
@@ -34,6 +38,10 @@ import lombok.NonNull;
  * Maximum title lengths:
  * - 1.8: 30 with color, 32 without color
  * - 1.13: 126 with color, 128 without color
+ * <p>
+ * All scoreboards are rendered from one shared task which spreads viewers across
+ * ticks within the update delay. We remember what each viewer has seen and only
+ * send rows or the title when they change.
  *
  * @author kangarko and Tijn (<a href="https://github.com/Tvhee-Dev">Tvhee-Dev</a>)
  */
@@ -50,22 +58,46 @@ public class SimpleScoreboard {
 	 */
 	private static final String[] COLORS = { "0", "1", "2", "3", "4", "5", "6", "7", "8", "9", "a", "b", "c", "d", "e", "f" };
 
+	/**
+	 * Matches useless colors in front of only spaces (e.g. [§a     §aText] becomes [     §aText])
+	 */
+	private static final Pattern SPACE_COLOR_PATTERN = Pattern.compile("^( )+(" + COLOR_CHAR + ")");
+
+	/**
+	 * The maximum amount of rows a sidebar can show
+	 */
+	private static final int MAX_ROWS = 15;
+
 	/**
 	 * List of all active scoreboard (added upon creating a new instance)
 	 */
 	@Getter
 	private static final List<SimpleScoreboard> registeredBoards = new ArrayList<>();
 
+	/**
+	 * Scoreboards currently being rendered by the ticking task
+	 */
+	private static final List<SimpleScoreboard> runningBoards = new ArrayList<>();
+
+	/**
+	 * The shared task rendering all running scoreboards
+	 */
+	private static BukkitTask tickingTask;
+
+	/**
+	 * How many ticks the ticking task has run for, used to spread viewers across ticks
+	 */
+	private static long ticks = 0;
+
 	/**
 	 * Stored scoreboard lines
 	 */
 	private final List<String> rows = new ArrayList<>();
 
 	/**
-	 * Stored players viewing THIS scoreboard
+	 * Stored players viewing THIS scoreboard with what we last sent them
 	 */
-
-	private final List<UUID> viewers = new ArrayList<>();
+	private final Map<UUID, ViewerState> viewers = new LinkedHashMap<>();
 
 	/**
 	 * The color theme for key: value pairs such as
@@ -87,9 +119,20 @@ public class SimpleScoreboard {
 	private int updateDelayTicks = 20;
 
 	/**
-	 * The running update task
+	 * Should {@link #replaceVariables(Player, String)} be called off the main thread?
 	 */
-	private BukkitTask updateTask;
+	@Getter
+	private boolean asyncVariables = false;
+
+	/**
+	 * Is this scoreboard being rendered?
+	 */
+	private boolean running = false;
+
+	/**
+	 * Incremented for each new viewer to spread their rendering across ticks
+	 */
+	private int nextViewerSlot = 0;
 
 	/**
 	 * Create a new scoreboard updating every second
@@ -140,12 +183,39 @@ public class SimpleScoreboard {
 				scoreboard.hide(player);
 	}
 
+	/**
+	 * Restart the ticking task on reload
+	 *
+	 * @deprecated internal use only, do not call
+	 */
+	@Deprecated
+	public static void onReload() {
+		if (tickingTask != null)
+			tickingTask.cancel();
+
+		tickingTask = runningBoards.isEmpty() ? null : scheduleTickingTask();
+	}
+
+	/*
+	 * Start the task rendering all running scoreboards every tick
+	 */
+	private static BukkitTask scheduleTickingTask() {
+		return Common.runTimer(1, () -> {
+			final long tick = ticks++;
+
+			for (final SimpleScoreboard scoreboard : new ArrayList<>(runningBoards))
+				scoreboard.tick(tick);
+		});
+	}
+
 	// ------------------------------------------------------------------------------------------------------------
 	// Public entries
 	// ------------------------------------------------------------------------------------------------------------
 
 	/**
-	 * Replaces variables in the message for the given player
+	 * Replaces variables in the message for the given player.
+	 * <p>
+	 * This is called off the main thread if {@link #setAsyncVariables(boolean)} is enabled.
 	 *
 	 * @param player
 	 * @param message
@@ -190,7 +260,7 @@ public class SimpleScoreboard {
 	 * @return
 	 */
 	public final boolean isRunning() {
-		return this.updateTask != null;
+		return this.running;
 	}
 
 	/**
@@ -200,6 +270,18 @@ public class SimpleScoreboard {
 		this.updateDelayTicks = updateDelayTicks;
 	}
 
+	/**
+	 * Set if we should resolve variables for each viewer off the main thread,
+	 * rows are then sent on the main thread once ready.
+	 * <p>
+	 * Only enable this if your {@link #replaceVariables(Player, String)} is thread-safe.
+	 *
+	 * @param asyncVariables
+	 */
+	public final void setAsyncVariables(boolean asyncVariables) {
+		this.asyncVariables = asyncVariables;
+	}
+
 	/**
 	 * Show this scoreboard to the player
 	 *
@@ -211,12 +293,22 @@ public class SimpleScoreboard {
 		if (this.title == null)
 			this.title = "";
 
-		if (this.updateTask == null)
+		if (!this.running)
 			this.start();
 
 		final Scoreboard scoreboard = Bukkit.getScoreboardManager().getNewScoreboard();
-		this.viewers.add(player.getUniqueId());
+		final ViewerState state = new ViewerState(this.nextViewerSlot++);
+
+		this.viewers.put(player.getUniqueId(), state);
 		player.setScoreboard(scoreboard);
+
+		// Render right away instead of showing an empty sidebar until the player's turn
+		try {
+			this.render(player, state);
+
+		} catch (final Throwable t) {
+			this.handleRenderError(t);
+		}
 	}
 
 	/**
@@ -231,7 +323,7 @@ public class SimpleScoreboard {
 		this.viewers.remove(player.getUniqueId());
 
 		if (this.viewers.isEmpty())
-			this.cancelUpdateTask();
+			this.cancelRendering();
 	}
 
 	/**
@@ -241,7 +333,7 @@ public class SimpleScoreboard {
 	 * @return
 	 */
 	public final boolean isViewing(final Player player) {
-		return this.viewers.contains(player.getUniqueId());
+		return this.viewers.containsKey(player.getUniqueId());
 	}
 
 	/**
@@ -282,7 +374,7 @@ public class SimpleScoreboard {
 	 * @param entries
 	 */
 	public final void addRows(final List<Object> entries) {
-		Valid.checkBoolean((this.rows.size() + entries.size()) <= 15, "You are trying to add too many rows (the limit is 15)");
+		Valid.checkBoolean((this.rows.size() + entries.size()) <= MAX_ROWS, "You are trying to add too many rows (the limit is 15)");
 		final List<String> lines = new ArrayList<>();
 
 		for (final Object object : entries)
@@ -336,41 +428,20 @@ public class SimpleScoreboard {
 	 * Starts visualizing this scoreboard
 	 */
 	private void start() {
-		Valid.checkBoolean(this.updateTask == null, "Scoreboard " + this + " already running");
-
-		this.updateTask = Bukkit.getScheduler().runTaskTimer(SimplePlugin.getInstance(), () -> {
-			try {
-				this.onUpdate();
-
-				for (final UUID viewerId : new ArrayList<>(this.viewers)) {
-					final Player viewer = Bukkit.getPlayer(viewerId);
-
-					if (viewer == null || !viewer.isOnline()) {
-						this.viewers.remove(viewerId);
-						continue;
-					}
-
-					this.reloadEntries(viewer);
-				}
+		Valid.checkBoolean(!this.running, "Scoreboard " + this + " already running");
 
-			} catch (final Throwable t) {
-				Common.error(t,
-						"Error displaying " + this,
-						"Entries: " + this.rows,
-						"Title: " + this.title,
-						"%error",
-						"Stopping rendering for safety.");
+		this.running = true;
+		runningBoards.add(this);
 
-				this.stop();
-			}
-		}, 0, this.updateDelayTicks);
+		if (tickingTask == null)
+			tickingTask = scheduleTickingTask();
 	}
 
 	/**
 	 * Stops this scoreboard and removes it from all viewers
 	 */
 	public final void stop() {
-		this.viewers.forEach(viewerId -> {
+		this.viewers.keySet().forEach(viewerId -> {
 			final Player viewer = Bukkit.getPlayer(viewerId);
 
 			if (viewer != null && viewer.isOnline())
@@ -379,8 +450,8 @@ public class SimpleScoreboard {
 
 		this.viewers.clear();
 
-		if (this.updateTask != null)
-			this.cancelUpdateTask();
+		if (this.running)
+			this.cancelRendering();
 	}
 
 	@Override
@@ -414,13 +485,18 @@ public class SimpleScoreboard {
 	}
 
 	/**
-	 * Cancels the update task
+	 * Stops rendering this scoreboard, cancelling the ticking task if no other scoreboard is running
 	 */
-	private void cancelUpdateTask() {
-		Valid.checkNotNull(this.updateTask, "Scoreboard " + this + " not running");
+	private void cancelRendering() {
+		Valid.checkBoolean(this.running, "Scoreboard " + this + " not running");
 
-		this.updateTask.cancel();
-		this.updateTask = null;
+		this.running = false;
+		runningBoards.remove(this);
+
+		if (runningBoards.isEmpty() && tickingTask != null) {
+			tickingTask.cancel();
+			tickingTask = null;
+		}
 	}
 
 	// ------------------------------------------------------------------------------------------------------------
@@ -428,88 +504,247 @@ public class SimpleScoreboard {
 	// ------------------------------------------------------------------------------------------------------------
 
 	/**
-	 * Reload entries for the given player
+	 * Call {@link #onUpdate()} once per update delay and render viewers whose turn it is
+	 *
+	 * @param tick
+	 */
+	private void tick(long tick) {
+		final int updateDelay = Math.max(1, this.updateDelayTicks);
+
+		try {
+			if (tick % updateDelay == 0)
+				this.onUpdate();
+
+			for (final Map.Entry<UUID, ViewerState> entry : new ArrayList<>(this.viewers.entrySet())) {
+				final ViewerState state = entry.getValue();
+
+				if ((tick + state.slot) % updateDelay != 0 || this.viewers.get(entry.getKey()) != state)
+					continue;
+
+				final Player viewer = Bukkit.getPlayer(entry.getKey());
+
+				if (viewer == null || !viewer.isOnline()) {
+					this.viewers.remove(entry.getKey());
+
+					continue;
+				}
+
+				this.render(viewer, state);
+			}
+
+		} catch (final Throwable t) {
+			this.handleRenderError(t);
+		}
+	}
+
+	/**
+	 * Resolve rows for the viewer and send what changed, resolving variables
+	 * off the main thread if enabled
+	 *
+	 * @param viewer
+	 * @param state
+	 */
+	private void render(Player viewer, ViewerState state) {
+		if (!this.asyncVariables) {
+			this.sendChanges(viewer, state, this.title, this.resolveRows(viewer, this.rows));
+
+			return;
+		}
+
+		// Still waiting for the last resolution, skip this turn
+		if (state.resolving)
+			return;
+
+		final List<String> rows = new ArrayList<>(this.rows);
+		final String title = this.title;
+
+		state.resolving = true;
+
+		Common.runAsync(() -> {
+			try {
+				final String[] resolvedRows = this.resolveRows(viewer, rows);
+
+				Common.runLater(() -> {
+					state.resolving = false;
+
+					if (this.running && this.viewers.get(viewer.getUniqueId()) == state && viewer.isOnline())
+						try {
+							this.sendChanges(viewer, state, title, resolvedRows);
+
+						} catch (final Throwable t) {
+							this.handleRenderError(t);
+						}
+				});
+
+			} catch (final Throwable t) {
+				state.resolving = false;
+
+				Common.error(t,
+						"Error resolving variables in " + this + " for " + viewer.getName(),
+						"Entries: " + rows,
+						"%error");
+			}
+		});
+	}
+
+	/**
+	 * Replace variables and theme colors in the rows for the given player
+	 *
+	 * @param player
+	 * @param rows
+	 * @return
+	 */
+	private String[] resolveRows(Player player, List<String> rows) {
+		final String[] resolvedRows = new String[rows.size()];
+
+		for (int i = 0; i < resolvedRows.length; i++) {
+			final String row = rows.get(i).replace("{player}", player.getName());
+
+			resolvedRows[i] = Common.colorize(this.replaceTheme(this.replaceVariables(player, row)));
+		}
+
+		return resolvedRows;
+	}
+
+	/**
+	 * Log the error and stop rendering this scoreboard
+	 *
+	 * @param throwable
+	 */
+	private void handleRenderError(Throwable throwable) {
+		Common.error(throwable,
+				"Error displaying " + this,
+				"Entries: " + this.rows,
+				"Title: " + this.title,
+				"%error",
+				"Stopping rendering for safety.");
+
+		this.stop();
+	}
+
+	/**
+	 * Send the title and rows to the player, skipping those the player already sees
 	 *
 	 * @param player
+	 * @param state
+	 * @param title
+	 * @param finishedRows
 	 */
-	private void reloadEntries(Player player) throws IllegalArgumentException {
-		final String colorizedTitle = Common.colorize(this.title);
+	private void sendChanges(Player player, ViewerState state, String title, String[] finishedRows) throws IllegalArgumentException {
+		final String colorizedTitle = Common.colorize(title);
 		final Scoreboard scoreboard = player.getScoreboard();
-		final List<String> rowsDone = new ArrayList<>();
+
+		// Someone else changed the player's scoreboard, we no longer know what is shown
+		if (state.scoreboard != scoreboard)
+			state.reset(scoreboard);
+
 		Objective mainboard = scoreboard.getObjective("mainboard");
 
 		if (mainboard == null) {
 			mainboard = scoreboard.registerNewObjective("mainboard", "dummy");
-			mainboard.setDisplayName(colorizedTitle);
 			mainboard.setDisplaySlot(DisplaySlot.SIDEBAR);
+
+			state.reset(scoreboard);
 		}
 
-		if (!mainboard.getDisplayName().equals(colorizedTitle))
+		if (!colorizedTitle.equals(state.title)) {
 			mainboard.setDisplayName(colorizedTitle);
 
-		for (int lineNumber = 0; lineNumber < 15; lineNumber++) {
-			final int scoreboardLineNumber = this.rows.size() - lineNumber;
-			Team line = scoreboard.getTeam("line" + scoreboardLineNumber);
+			state.title = colorizedTitle;
+		}
+
+		final int rowCount = Math.min(finishedRows.length, MAX_ROWS);
 
-			if (lineNumber < this.rows.size()) {
-				if (line == null)
-					line = scoreboard.registerNewTeam("line" + scoreboardLineNumber);
+		// Scores and team names depend on the row count, render all rows again and remove the extra ones
+		if (state.lines.length != rowCount) {
+			state.lines = new String[rowCount][];
 
-				final String scoreboardLineRaw = this.rows.get(lineNumber).replace("{player}", player.getName());
-				final boolean mc1_13 = MinecraftVersion.atLeast(MinecraftVersion.V.v1_13);
-				final boolean mc1_18 = MinecraftVersion.atLeast(MinecraftVersion.V.v1_18);
-				final String finishedRow = Common.colorize(replaceTheme(this.replaceVariables(player, scoreboardLineRaw)));
-				final boolean rowUsed = rowsDone.contains(finishedRow);
-				final int[] splitPoints = { mc1_13 ? 64 : 16, mc1_18 ? 32767 : 40, mc1_13 ? 64 : 16 };
+			for (int scoreboardLineNumber = rowCount + 1; scoreboardLineNumber <= MAX_ROWS; scoreboardLineNumber++) {
+				final Team line = scoreboard.getTeam("line" + scoreboardLineNumber);
 
-				if (rowUsed)
-					splitPoints[1] = splitPoints[1] - 2;
+				if (line != null) {
+					for (final String oldEntry : line.getEntries())
+						scoreboard.resetScores(oldEntry);
 
-				final List<String> copy = copyColors(finishedRow, splitPoints);
-				final String prefix = copy.isEmpty() ? "" : copy.get(0);
-				String entry = copy.size() < 2 ? COLOR_CHAR + COLORS[lineNumber] + COLOR_CHAR + "r" : copy.get(1) + (rowUsed ? COLOR_CHAR + COLORS[lineNumber] : "");
+					line.unregister();
+				}
+			}
+		}
 
-				if (MinecraftVersion.olderThan(V.v1_13) && entry.length() > 16)
-					entry = entry.substring(0, 16);
+		final boolean mc1_13 = MinecraftVersion.atLeast(MinecraftVersion.V.v1_13);
+		final boolean mc1_18 = MinecraftVersion.atLeast(MinecraftVersion.V.v1_18);
+		final Set<String> rowsDone = new HashSet<>();
 
-				final String suffix = copy.size() < 3 ? "" : copy.get(2);
-				String oldEntry = null;
+		for (int lineNumber = 0; lineNumber < rowCount; lineNumber++) {
+			final String finishedRow = finishedRows[lineNumber];
+			final boolean rowUsed = !rowsDone.add(finishedRow);
+			final int[] splitPoints = { mc1_13 ? 64 : 16, mc1_18 ? 32767 : 40, mc1_13 ? 64 : 16 };
 
-				if (!line.getPrefix().equals(prefix))
-					line.setPrefix(prefix);
+			if (rowUsed)
+				splitPoints[1] = splitPoints[1] - 2;
 
-				if (line.getEntries().size() > 1) {
-					for (final String teamEntry : line.getEntries()) {
-						line.removeEntry(teamEntry);
-						scoreboard.resetScores(teamEntry);
-					}
-				}
+			final List<String> copy = this.copyColors(finishedRow, splitPoints);
+			final String prefix = copy.isEmpty() ? "" : copy.get(0);
+			String entry = copy.size() < 2 ? COLOR_CHAR + COLORS[lineNumber] + COLOR_CHAR + "r" : copy.get(1) + (rowUsed ? COLOR_CHAR + COLORS[lineNumber] : "");
 
-				if (!line.getEntries().contains(entry)) {
-					if (!line.getEntries().isEmpty()) {
-						oldEntry = new ArrayList<>(line.getEntries()).get(0);
+			if (MinecraftVersion.olderThan(V.v1_13) && entry.length() > 16)
+				entry = entry.substring(0, 16);
 
-						line.removeEntry(oldEntry);
-					}
+			final String suffix = copy.size() < 3 ? "" : copy.get(2);
+			final String[] rendered = { prefix, entry, suffix };
 
-					line.addEntry(entry);
-				}
+			if (Arrays.equals(rendered, state.lines[lineNumber]))
+				continue;
 
-				if (!line.getSuffix().equals(suffix))
-					line.setSuffix(suffix);
+			this.sendRow(scoreboard, mainboard, rowCount - lineNumber, prefix, entry, suffix);
+			state.lines[lineNumber] = rendered;
+		}
+	}
 
-				if (oldEntry != null)
-					scoreboard.resetScores(oldEntry);
+	/**
+	 * Update the team and score representing the given row
+	 *
+	 * @param scoreboard
+	 * @param mainboard
+	 * @param scoreboardLineNumber
+	 * @param prefix
+	 * @param entry
+	 * @param suffix
+	 */
+	private void sendRow(Scoreboard scoreboard, Objective mainboard, int scoreboardLineNumber, String prefix, String entry, String suffix) {
+		Team line = scoreboard.getTeam("line" + scoreboardLineNumber);
+		String oldEntry = null;
+
+		if (line == null)
+			line = scoreboard.registerNewTeam("line" + scoreboardLineNumber);
+
+		if (!line.getPrefix().equals(prefix))
+			line.setPrefix(prefix);
+
+		if (line.getEntries().size() > 1) {
+			for (final String teamEntry : line.getEntries()) {
+				line.removeEntry(teamEntry);
+				scoreboard.resetScores(teamEntry);
+			}
+		}
 
-				mainboard.getScore(entry).setScore(scoreboardLineNumber);
-				rowsDone.add(finishedRow);
-			} else if (line != null) {
-				for (final String oldEntry : line.getEntries())
-					scoreboard.resetScores(oldEntry);
+		if (!line.getEntries().contains(entry)) {
+			if (!line.getEntries().isEmpty()) {
+				oldEntry = new ArrayList<>(line.getEntries()).get(0);
 
-				line.unregister();
+				line.removeEntry(oldEntry);
 			}
+
+			line.addEntry(entry);
 		}
+
+		if (!line.getSuffix().equals(suffix))
+			line.setSuffix(suffix);
+
+		if (oldEntry != null)
+			scoreboard.resetScores(oldEntry);
+
+		mainboard.getScore(entry).setScore(scoreboardLineNumber);
 	}
 
 	/**
@@ -518,15 +753,13 @@ public class SimpleScoreboard {
 	 * @return The method will split the text at the given splitPoints and will copy the colors over
 	 */
 	private List<String> copyColors(String text, int... splitPoints) {
-		//Removes useless colors in front of only spaces (e.g. [§a     §aText] becomes [     §aText])
-		final Pattern spaceMatcher = Pattern.compile("^( )+(" + COLOR_CHAR + ")");
 		final List<String> splitText = new ArrayList<>();
 
 		for (final int splitPoint : splitPoints) {
 			final String lastEntry = splitText.isEmpty() ? "" : splitText.get(splitText.size() - 1);
 			final String lastColor = ChatColor.getLastColors(lastEntry);
 
-			final boolean addColor = !text.startsWith(COLOR_CHAR) && !lastColor.isEmpty() && !spaceMatcher.matcher(text).find();
+			final boolean addColor = !text.startsWith(COLOR_CHAR) && !lastColor.isEmpty() && !SPACE_COLOR_PATTERN.matcher(text).find();
 			final int realSplitPoint = Math.min(splitPoint - (addColor ? 2 : 0), text.length());
 			String line = (addColor ? lastColor : "") + text.substring(0, realSplitPoint);
 
@@ -545,4 +778,45 @@ public class SimpleScoreboard {
 
 		return splitText;
 	}
-}
\ No newline at end of file
+
+	/*
+	 * What we last sent to a single viewer
+	 */
+	@RequiredArgsConstructor
+	private static final class ViewerState {
+
+		/**
+		 * The tick offset within the update delay this viewer is rendered at
+		 */
+		private final int slot;
+
+		/**
+		 * The scoreboard we rendered to, if the player's scoreboard changes we render everything again
+		 */
+		private Scoreboard scoreboard;
+
+		/**
+		 * The last title sent
+		 */
+		private String title;
+
+		/**
+		 * The prefix, entry and suffix last sent for each row
+		 */
+		private String[][] lines = new String[0][];
+
+		/**
+		 * Are we resolving variables for this viewer off the main thread?
+		 */
+		private volatile boolean resolving = false;
+
+		/*
+		 * Forget what we sent so that everything is sent again
+		 */
+		void reset(Scoreboard scoreboard) {
+			this.scoreboard = scoreboard;
+			this.title = null;
+			this.lines = new String[0][];
+		}
+	}
+}
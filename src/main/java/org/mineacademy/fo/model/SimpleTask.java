@@ -1,6 +1,8 @@
 package org.mineacademy.fo.model;
 
 import java.lang.reflect.Method;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.bukkit.Bukkit;
 import org.bukkit.plugin.Plugin;
@@ -16,6 +18,11 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
 public final class SimpleTask implements BukkitTask {
 
+	/**
+	 * The last id given to a task not registered in the Bukkit scheduler, see {@link #nextUnregisteredTaskId()}
+	 */
+	private static final AtomicInteger lastUnregisteredTaskId = new AtomicInteger();
+
 	@Getter
 	private final int taskId;
 
@@ -25,12 +32,17 @@ public final class SimpleTask implements BukkitTask {
 	private final Method foliaCancelMethod;
 	private final Object foliaTaskInstance;
 
+	private final Future<?> future;
+
 	@Getter
 	private boolean cancelled = false;
 
 	@Override
 	public void cancel() {
-		if (Remain.isFolia())
+		if (this.future != null)
+			this.future.cancel(false);
+
+		else if (Remain.isFolia())
 			ReflectionUtil.invoke(this.foliaCancelMethod, this.foliaTaskInstance);
 
 		else
@@ -40,15 +52,30 @@ public final class SimpleTask implements BukkitTask {
 	}
 
 	public static SimpleTask fromBukkit(BukkitTask task) {
-		return new SimpleTask(task.getTaskId(), task.isSync(), null, null);
+		return new SimpleTask(task.getTaskId(), task.isSync(), null, null, null);
 	}
 
 	public static SimpleTask fromBukkit(int taskId, boolean sync) {
-		return taskId >= 0 ? null : new SimpleTask(taskId, sync, null, null);
+		return taskId >= 0 ? null : new SimpleTask(taskId, sync, null, null, null);
 	}
 
 	public static SimpleTask fromFolia(Method foliaCancelMethod, Object foliaTaskInstance) {
-		return new SimpleTask(0, false, foliaCancelMethod, foliaTaskInstance);
+		return new SimpleTask(0, false, foliaCancelMethod, foliaTaskInstance, null);
+	}
+
+	public static SimpleTask fromFuture(Future<?> future) {
+		return new SimpleTask(nextUnregisteredTaskId(), false, null, null, future);
+	}
+
+	/**
+	 * Return a unique id for a task not registered in the Bukkit scheduler, such as tasks run on
+	 * our {@link AsyncExecutor} or {@link SimpleAnimation}s. The id is negative so it never clashes
+	 * with Bukkit task ids and Bukkit ignores it, such tasks can only be stopped by their cancel() method.
+	 *
+	 * @return
+	 */
+	public static int nextUnregisteredTaskId() {
+		return lastUnregisteredTaskId.updateAndGet(id -> id == Integer.MIN_VALUE ? -1 : id - 1);
 	}
 
 	@Override
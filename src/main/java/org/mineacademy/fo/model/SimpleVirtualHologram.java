@@ -0,0 +1,32 @@
+package org.mineacademy.fo.model;
+
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.mineacademy.fo.exception.FoException;
+
+/**
+ * A hologram showing only its lore lines which never spawns entities in the world,
+ * the lines are sent as packets to players nearby. Requires ProtocolLib.
+ * <p>
+ * Override {@link #onTick()} to animate it, and use {@link #setLore(String...)} or
+ * {@link #teleport(Location)} as with any other hologram, changes are sent to viewers automatically.
+ */
+public class SimpleVirtualHologram extends SimpleHologram {
+
+	/**
+	 * Create a new virtual hologram at the given location
+	 *
+	 * @param spawnLocation
+	 */
+	public SimpleVirtualHologram(final Location spawnLocation) {
+		super(spawnLocation, true);
+	}
+
+	/**
+	 * @see org.mineacademy.fo.model.SimpleHologram#createEntity()
+	 */
+	@Override
+	protected final Entity createEntity() {
+		throw new FoException("Virtual holograms do not spawn entities");
+	}
+}
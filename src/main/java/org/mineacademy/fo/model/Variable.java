@@ -32,7 +32,7 @@ public final class Variable extends YamlConfig {
 	/**
 	 * A list of all loaded variables
 	 */
-	private static final ConfigItems<Variable> loadedVariables = ConfigItems.fromFolder("variables", Variable.class);
+	private static final ConfigItems<Variable> loadedVariables = ConfigItems.fromFolder("variables", Variable.class).setParallelLoading(true);
 
 	/**
 	 * The kind of this variable
@@ -0,0 +1,336 @@
+package org.mineacademy.fo.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.Player;
+import org.mineacademy.fo.Common;
+import org.mineacademy.fo.MinecraftVersion;
+import org.mineacademy.fo.MinecraftVersion.V;
+import org.mineacademy.fo.remain.Remain;
+
+import com.comphenix.protocol.PacketType;
+import com.comphenix.protocol.events.PacketContainer;
+import com.comphenix.protocol.wrappers.WrappedChatComponent;
+import com.comphenix.protocol.wrappers.WrappedDataValue;
+import com.comphenix.protocol.wrappers.WrappedDataWatcher;
+import com.comphenix.protocol.wrappers.WrappedDataWatcher.Registry;
+import com.comphenix.protocol.wrappers.WrappedDataWatcher.WrappedDataWatcherObject;
+
+/**
+ * Sends lore lines of a virtual {@link SimpleHologram} as invisible armor stands
+ * that only exist on clients of players nearby, using ProtocolLib.
+ * <p>
+ * We remember which players see the hologram and only send packets when
+ * they come close, walk away or when the lines change.
+ */
+final class VirtualHologramRenderer {
+
+	/**
+	 * Entity ids we give to our armor stands, counting down from the top so we never collide with the server
+	 */
+	private static final AtomicInteger nextEntityId = new AtomicInteger(Integer.MAX_VALUE);
+
+	/**
+	 * Players who see the hologram by their unique id, we compare instances to detect reconnects
+	 */
+	private final Map<UUID, Player> viewers = new HashMap<>();
+
+	/**
+	 * The lines sent to viewers
+	 */
+	private final List<String> renderedLines = new ArrayList<>();
+
+	/**
+	 * The entity id of each line
+	 */
+	private int[] entityIds = new int[0];
+
+	/**
+	 * The location of the first line, null if not spawned
+	 */
+	private Location location;
+
+	/*
+	 * Return true if the hologram has been spawned
+	 */
+	boolean isSpawned() {
+		return this.location != null;
+	}
+
+	/*
+	 * Show the lines to players nearby
+	 */
+	void spawn(Location location, List<String> lines) {
+		this.location = location.clone();
+		this.setLines(lines);
+
+		this.updateViewers();
+	}
+
+	/*
+	 * Send changed lines to viewers and optionally recalculate who can see the hologram
+	 */
+	void update(List<String> lines, boolean checkViewers) {
+		if (lines.size() != this.renderedLines.size()) {
+
+			// Line entities changed, respawn them for everyone
+			for (final Player viewer : this.viewers.values())
+				this.sendDestroy(viewer);
+
+			this.setLines(lines);
+
+			for (final Player viewer : this.viewers.values())
+				this.sendSpawn(viewer);
+
+		} else
+			for (int i = 0; i < lines.size(); i++) {
+				final String line = lines.get(i);
+
+				if (!line.equals(this.renderedLines.get(i))) {
+					this.renderedLines.set(i, line);
+
+					final PacketContainer packet = createMetadataPacket(this.entityIds[i], line);
+
+					for (final Player viewer : this.viewers.values())
+						HookManager.sendPacket(viewer, packet);
+				}
+			}
+
+		if (checkViewers)
+			this.updateViewers();
+	}
+
+	/*
+	 * Move all lines to the given location
+	 */
+	void teleport(Location location) {
+		this.location = location.clone();
+
+		if (this.viewers.isEmpty())
+			return;
+
+		final List<PacketContainer> packets = new ArrayList<>(this.entityIds.length);
+
+		try {
+			for (int i = 0; i < this.entityIds.length; i++)
+				packets.add(createTeleportPacket(this.entityIds[i], this.getLineLocation(i)));
+
+		} catch (final Throwable t) {
+
+			// The teleport packet has changed in this version, respawn instead
+			for (final Player viewer : this.viewers.values()) {
+				this.sendDestroy(viewer);
+				this.sendSpawn(viewer);
+			}
+
+			return;
+		}
+
+		for (final Player viewer : this.viewers.values())
+			for (final PacketContainer packet : packets)
+				HookManager.sendPacket(viewer, packet);
+	}
+
+	/*
+	 * Hide the hologram from everyone
+	 */
+	void remove() {
+		for (final Player viewer : this.viewers.values())
+			if (viewer.isOnline())
+				this.sendDestroy(viewer);
+
+		this.viewers.clear();
+		this.location = null;
+	}
+
+	/*
+	 * Assign new entity ids for the given lines
+	 */
+	private void setLines(List<String> lines) {
+		this.renderedLines.clear();
+		this.renderedLines.addAll(lines);
+
+		this.entityIds = new int[lines.size()];
+
+		for (int i = 0; i < this.entityIds.length; i++)
+			this.entityIds[i] = nextEntityId.getAndDecrement();
+	}
+
+	/*
+	 * Spawn lines for players who came close and destroy them for those who left
+	 */
+	private void updateViewers() {
+		final double maxDistanceSquared = SimpleHologram.getVirtualViewDistance() * SimpleHologram.getVirtualViewDistance();
+
+		for (final Iterator<Map.Entry<UUID, Player>> it = this.viewers.entrySet().iterator(); it.hasNext();) {
+			final Player viewer = it.next().getValue();
+
+			// Disconnected, the client has forgotten our entities already
+			if (Bukkit.getPlayer(viewer.getUniqueId()) != viewer) {
+				it.remove();
+
+				continue;
+			}
+
+			if (!this.isInRange(viewer, maxDistanceSquared)) {
+				this.sendDestroy(viewer);
+
+				it.remove();
+			}
+		}
+
+		for (final Player player : this.location.getWorld().getPlayers())
+			if (!this.viewers.containsKey(player.getUniqueId()) && this.isInRange(player, maxDistanceSquared)) {
+				this.viewers.put(player.getUniqueId(), player);
+
+				this.sendSpawn(player);
+			}
+	}
+
+	/*
+	 * Return true if the player is close enough to see the hologram
+	 */
+	private boolean isInRange(Player player, double maxDistanceSquared) {
+		final Location playerLocation = player.getLocation();
+
+		return playerLocation.getWorld().equals(this.location.getWorld()) && playerLocation.distanceSquared(this.location) <= maxDistanceSquared;
+	}
+
+	/*
+	 * Return where the line at the given index is
+	 */
+	private Location getLineLocation(int index) {
+		return this.location.clone().subtract(0, index * SimpleHologram.getLoreLineHeight(), 0);
+	}
+
+	/*
+	 * Send all lines to the player
+	 */
+	private void sendSpawn(Player player) {
+		for (int i = 0; i < this.entityIds.length; i++) {
+			HookManager.sendPacket(player, createSpawnPacket(this.entityIds[i], this.getLineLocation(i)));
+			HookManager.sendPacket(player, createMetadataPacket(this.entityIds[i], this.renderedLines.get(i)));
+		}
+	}
+
+	/*
+	 * Remove all lines for the player
+	 */
+	private void sendDestroy(Player player) {
+		if (this.entityIds.length == 0)
+			return;
+
+		final PacketContainer packet = new PacketContainer(PacketType.Play.Server.ENTITY_DESTROY);
+
+		if (MinecraftVersion.atLeast(V.v1_17)) {
+			final List<Integer> ids = new ArrayList<>(this.entityIds.length);
+
+			for (final int id : this.entityIds)
+				ids.add(id);
+
+			packet.getIntLists().write(0, ids);
+
+		} else
+			packet.getIntegerArrays().write(0, this.entityIds.clone());
+
+		HookManager.sendPacket(player, packet);
+	}
+
+	/*
+	 * Create a packet spawning an armor stand at the given location
+	 */
+	private static PacketContainer createSpawnPacket(int entityId, Location location) {
+		final PacketContainer packet;
+
+		if (MinecraftVersion.atLeast(V.v1_19)) {
+			packet = new PacketContainer(PacketType.Play.Server.SPAWN_ENTITY);
+
+			packet.getEntityTypeModifier().write(0, EntityType.ARMOR_STAND);
+
+		} else {
+			packet = new PacketContainer(PacketType.Play.Server.SPAWN_ENTITY_LIVING);
+
+			// Network id of the armor stand
+			packet.getIntegers().write(1, MinecraftVersion.olderThan(V.v1_13) ? 30 : 1);
+
+			// Older versions send metadata along
+			packet.getDataWatcherModifier().writeSafely(0, new WrappedDataWatcher());
+		}
+
+		packet.getIntegers().write(0, entityId);
+		packet.getUUIDs().writeSafely(0, UUID.randomUUID());
+		packet.getDoubles()
+				.write(0, location.getX())
+				.write(1, location.getY())
+				.write(2, location.getZ());
+
+		return packet;
+	}
+
+	/*
+	 * Create a packet making the armor stand invisible and showing the line as its name,
+	 * colorized the same way as {@link Remain#setCustomName(org.bukkit.entity.Entity, String)} does for real holograms
+	 */
+	private static PacketContainer createMetadataPacket(int entityId, String rawLine) {
+		final PacketContainer packet = new PacketContainer(PacketType.Play.Server.ENTITY_METADATA);
+		final boolean chatComponentName = MinecraftVersion.atLeast(V.v1_13);
+		final String line = Common.colorize(rawLine);
+
+		final Object name = chatComponentName ? Optional.of(WrappedChatComponent.fromLegacyText(line).getHandle()) : line;
+		final WrappedDataWatcher.Serializer nameSerializer = chatComponentName ? Registry.getChatComponentSerializer(true) : Registry.get(String.class);
+
+		packet.getIntegers().write(0, entityId);
+
+		// Data values replaced watchable objects in 1.19.3
+		if (MinecraftVersion.newerThan(V.v1_19) || MinecraftVersion.equals(V.v1_19) && MinecraftVersion.getSubversion() >= 3) {
+			final List<WrappedDataValue> values = new ArrayList<>(Arrays.asList(
+					new WrappedDataValue(0, Registry.get(Byte.class), (byte) 0x20),
+					new WrappedDataValue(2, nameSerializer, name),
+					new WrappedDataValue(3, Registry.get(Boolean.class), true),
+					new WrappedDataValue(5, Registry.get(Boolean.class), true)));
+
+			packet.getDataValueCollectionModifier().write(0, values);
+
+		} else {
+			final WrappedDataWatcher watcher = new WrappedDataWatcher();
+
+			watcher.setObject(new WrappedDataWatcherObject(0, Registry.get(Byte.class)), (byte) 0x20);
+			watcher.setObject(new WrappedDataWatcherObject(2, nameSerializer), name);
+			watcher.setObject(new WrappedDataWatcherObject(3, Registry.get(Boolean.class)), true);
+
+			// No gravity was added in 1.10
+			if (MinecraftVersion.atLeast(V.v1_10))
+				watcher.setObject(new WrappedDataWatcherObject(5, Registry.get(Boolean.class)), true);
+
+			packet.getWatchableCollectionModifier().write(0, watcher.getWatchableObjects());
+		}
+
+		return packet;
+	}
+
+	/*
+	 * Create a packet moving the armor stand to the given location
+	 */
+	private static PacketContainer createTeleportPacket(int entityId, Location location) {
+		final PacketContainer packet = new PacketContainer(PacketType.Play.Server.ENTITY_TELEPORT);
+
+		packet.getIntegers().write(0, entityId);
+		packet.getDoubles()
+				.write(0, location.getX())
+				.write(1, location.getY())
+				.write(2, location.getZ());
+
+		return packet;
+	}
+}
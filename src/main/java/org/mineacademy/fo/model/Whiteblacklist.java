@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Set;
 import java.util.regex.Pattern;
 
@@ -26,9 +27,19 @@ public final class Whiteblacklist {
 	private final Set<String> items;
 
 	/**
-	 * The list of items in precompiled pattern formats
+	 * The list of items lowercased without the initial slash, for exact matching
 	 */
-	private final Set<Pattern> patterns;
+	private final Set<String> lowercaseItems;
+
+	/**
+	 * The list of items without the initial slash, for startsWith matching
+	 */
+	private final AhoCorasickMatcher prefixes;
+
+	/**
+	 * The list of items in precompiled pattern formats, null if not compiled
+	 */
+	private final PatternMatcher patterns;
 
 	/**
 	 * Were patterns compiled?
@@ -73,7 +84,6 @@ public final class Whiteblacklist {
 	 * @param compileAsPatterns shall we precompile the list for maximum performance?
 	 */
 	public Whiteblacklist(@NonNull List<String> items, boolean compileAsPatterns) {
-		this.patterns = new HashSet<>();
 		this.compileAsPatterns = compileAsPatterns;
 
 		if (!items.isEmpty()) {
@@ -98,11 +108,6 @@ public final class Whiteblacklist {
 			this.items = new HashSet<>(copyList);
 			this.whitelist = whitelist;
 			this.entireList = entireList;
-			this.patterns.clear();
-
-			if (compileAsPatterns)
-				for (String item : this.items)
-					this.patterns.add(Common.compilePattern(item));
 		}
 
 		else {
@@ -110,6 +115,31 @@ public final class Whiteblacklist {
 			this.whitelist = true;
 			this.entireList = false;
 		}
+
+		// Compile items so that checks do not loop over them
+		final List<String> slashlessItems = new ArrayList<>();
+
+		this.lowercaseItems = new HashSet<>();
+
+		for (final String item : this.items) {
+			final String slashlessItem = removeSlash(item);
+
+			slashlessItems.add(slashlessItem);
+			this.lowercaseItems.add(slashlessItem.toLowerCase(Locale.ROOT));
+		}
+
+		this.prefixes = AhoCorasickMatcher.compile(slashlessItems, true);
+
+		if (compileAsPatterns) {
+			final List<Pattern> patterns = new ArrayList<>();
+
+			for (final String item : this.items)
+				patterns.add(Common.compilePattern(item));
+
+			this.patterns = new PatternMatcher(patterns);
+
+		} else
+			this.patterns = null;
 	}
 
 	/**
@@ -144,7 +174,7 @@ public final class Whiteblacklist {
 		if (this.entireList)
 			return this.whitelist;
 
-		final boolean match = Valid.isInList(item, this.items);
+		final boolean match = this.lowercaseItems.contains(removeSlash(item).toLowerCase(Locale.ROOT));
 
 		return this.whitelist ? match : !match;
 	}
@@ -160,7 +190,7 @@ public final class Whiteblacklist {
 		if (this.entireList)
 			return this.whitelist;
 
-		final boolean match = this.compileAsPatterns ? Valid.isInListRegexFast(item, this.patterns) : Valid.isInListRegex(item, this.items);
+		final boolean match = this.compileAsPatterns ? this.patterns.find(item) : Valid.isInListRegex(item, this.items);
 
 		return this.whitelist ? match : !match;
 	}
@@ -176,11 +206,18 @@ public final class Whiteblacklist {
 		if (this.entireList)
 			return this.whitelist;
 
-		final boolean match = Valid.isInListStartsWith(item, this.items);
+		final boolean match = this.prefixes.startsWithAny(removeSlash(item));
 
 		return this.whitelist ? match : !match;
 	}
 
+	/*
+	 * Remove the initial slash the same way as in Valid#isInList
+	 */
+	private static String removeSlash(String item) {
+		return item.startsWith("/") ? item.substring(1) : item;
+	}
+
 	/**
 	 * @see java.lang.Object#toString()
 	 */
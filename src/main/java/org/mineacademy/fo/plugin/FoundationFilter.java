@@ -2,6 +2,7 @@ package org.mineacademy.fo.plugin;
 
 import java.io.PrintStream;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.logging.LogRecord;
 
@@ -15,6 +16,7 @@ import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.plugin.Plugin;
 import org.mineacademy.fo.Common;
+import org.mineacademy.fo.model.AhoCorasickMatcher;
 
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
@@ -31,6 +33,21 @@ final class FoundationFilter {
 	@Setter(value = AccessLevel.PACKAGE)
 	private static List<String> MESSAGES_TO_FILTER = new ArrayList<>();
 
+	/**
+	 * Messages we always filter when they contain any of these
+	 */
+	private static final AhoCorasickMatcher BUILTIN_FILTERS = AhoCorasickMatcher.compile(Arrays.asList(
+			"${jndi:ldap:",
+			"HikariPool-1 - Starting...",
+			"HikariPool-1 - Start completed.",
+			"[DiscordSRV] [JDA] Login Successful!",
+			"[DiscordSRV] [JDA] Connected to WebSocket"));
+
+	/**
+	 * The compiled user-defined filter, case insensitive, null until the plugin is enabled
+	 */
+	private static volatile AhoCorasickMatcher USER_FILTERS = null;
+
 	/**
 	 * Start filtering the console
 	 */
@@ -56,6 +73,26 @@ final class FoundationFilter {
 		}
 	}
 
+	/**
+	 * Compile the console filter from {@link SimplePlugin#getConsoleFilter()} and the main command,
+	 * called automatically when the plugin is enabled or reloaded
+	 */
+	static void compile() {
+		final SimplePlugin plugin = SimplePlugin.getInstance();
+		final List<String> filters = new ArrayList<>();
+
+		for (final String filter : plugin.getConsoleFilter())
+			filters.add(stripColors(filter));
+
+		// Filter inbuilt Foundation or ChatControl commands
+		if (plugin.getMainCommand() != null) {
+			filters.add("issued server command: /" + plugin.getMainCommand().getLabel() + " internal");
+			filters.add("issued server command: /#flp");
+		}
+
+		USER_FILTERS = AhoCorasickMatcher.compile(filters, true);
+	}
+
 	/*
 	 * Return true if the message is filtered
 	 */
@@ -64,13 +101,10 @@ final class FoundationFilter {
 			return false;
 
 		// Replace & color codes
-		for (final ChatColor color : ChatColor.values()) {
-			message = message.replace("&" + color.getChar(), "");
-			message = message.replace(color.toString(), "");
-		}
+		message = stripColors(message);
 
-		// Log4j2 exploit
-		if (message.contains("${jndi:ldap:"))
+		// Log4j2 exploit and some annoying hikaripool or discordsrv messages
+		if (BUILTIN_FILTERS.find(message))
 			return true;
 
 		// Filter a warning since we've already patched this with NashornPlus extension
@@ -81,12 +115,7 @@ final class FoundationFilter {
 		if (message.endsWith("which is not a depend, softdepend or loadbefore of this plugin."))
 			return true;
 
-		// Disable some annoying hikaripool or discordsrv messages
-		if (message.contains("HikariPool-1 - Starting...") || message.contains("HikariPool-1 - Start completed.")
-				|| message.contains("[DiscordSRV] [JDA] Login Successful!") || message.contains("[DiscordSRV] [JDA] Connected to WebSocket"))
-			return true;
-
-		boolean hasInstance = SimplePlugin.hasInstance();
+		final boolean hasInstance = SimplePlugin.hasInstance();
 
 		// Workaround for Spigot/Paper not removing [Not Secure] console misinformation
 		// The only thing that is insecure is Microsoft itself from it not being able to read your messages
@@ -102,26 +131,46 @@ final class FoundationFilter {
 			return true;
 		}
 
-		message = message.toLowerCase();
+		// Filter user-defined commands, only compiled after plugin has been fully enabled
+		final AhoCorasickMatcher userFilters = USER_FILTERS;
+
+		return userFilters != null && userFilters.find(message);
+	}
+
+	/*
+	 * Remove & and § color codes in one pass, returning the same message if it has none
+	 */
+	private static String stripColors(String message) {
+		StringBuilder builder = null;
+		int last = 0;
 
-		// Only filter this after plugin has been fully enabled
-		if (hasInstance && SimplePlugin.getInstance().getMainCommand() != null) {
+		for (int i = 0; i < message.length() - 1; i++) {
+			final char character = message.charAt(i);
 
-			// Filter inbuilt Foundation or ChatControl commands
-			if (message.contains("issued server command: /" + SimplePlugin.getInstance().getMainCommand().getLabel() + " internal") || message.contains("issued server command: /#flp"))
-				return true;
+			if ((character == '&' || character == ChatColor.COLOR_CHAR) && isColorCode(message.charAt(i + 1))) {
+				if (builder == null)
+					builder = new StringBuilder(message.length());
 
-			// Filter user-defined commands
-			if (SimplePlugin.hasInstance())
-				for (String filter : SimplePlugin.getInstance().getConsoleFilter()) {
-					filter = filter.toLowerCase();
+				builder.append(message, last, i);
 
-					if (message.startsWith(filter) || message.contains(filter))
-						return true;
-				}
+				last = i + 2;
+				i++;
+			}
 		}
 
-		return false;
+		if (builder == null)
+			return message;
+
+		builder.append(message, last, message.length());
+
+		return builder.toString();
+	}
+
+	/*
+	 * Return true if the character is a legacy color or decoration code
+	 */
+	private static boolean isColorCode(char code) {
+		return code >= '0' && code <= '9' || code >= 'a' && code <= 'f' || code >= 'k' && code <= 'o' || code == 'r';
 	}
 }
 
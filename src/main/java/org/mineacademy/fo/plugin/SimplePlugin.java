@@ -32,6 +32,7 @@ import org.bukkit.plugin.java.JavaPlugin;
 import org.bukkit.plugin.messaging.Messenger;
 import org.mineacademy.fo.BungeeUtil;
 import org.mineacademy.fo.Common;
+import org.mineacademy.fo.EntityUtil;
 import org.mineacademy.fo.FileUtil;
 import org.mineacademy.fo.MinecraftVersion;
 import org.mineacademy.fo.MinecraftVersion.V;
@@ -51,9 +52,13 @@ import org.mineacademy.fo.menu.MenuListener;
 import org.mineacademy.fo.menu.tool.Tool;
 import org.mineacademy.fo.menu.tool.ToolsListener;
 import org.mineacademy.fo.metrics.Metrics;
+import org.mineacademy.fo.model.AsyncExecutor;
+import org.mineacademy.fo.model.Countdown;
 import org.mineacademy.fo.model.DiscordListener;
 import org.mineacademy.fo.model.FolderWatcher;
 import org.mineacademy.fo.model.HookManager;
+import org.mineacademy.fo.model.MainThreadQueue;
+import org.mineacademy.fo.model.SimpleAnimation;
 import org.mineacademy.fo.model.SimpleHologram;
 import org.mineacademy.fo.model.SimpleScoreboard;
 import org.mineacademy.fo.model.SpigotUpdater;
@@ -415,6 +420,9 @@ public abstract class SimplePlugin extends JavaPlugin implements Listener {
 			this.startingReloadables = false;
 
 			this.onPluginStart();
+
+			// Compile console filter after plugin has been fully enabled
+			FoundationFilter.compile();
 			// --------------------------------------------
 
 			if (Remain.isEnchantRegistryUnfrozen())
@@ -684,6 +692,12 @@ public abstract class SimplePlugin extends JavaPlugin implements Listener {
 					t.printStackTrace();
 				}
 
+		// Write configuration saves still waiting for their delay
+		FileConfig.flushPendingSaves();
+
+		// Let running async tasks such as database saves finish
+		AsyncExecutor.shutdown();
+
 		Objects.requireNonNull(instance, "Instance of " + this.getDataFolder().getName() + " already nulled!");
 		instance = null;
 	}
@@ -764,6 +778,8 @@ public abstract class SimplePlugin extends JavaPlugin implements Listener {
 			this.reloadables.reload();
 
 			SimpleHologram.onReload();
+			SimpleScoreboard.onReload();
+			MainThreadQueue.onReload();
 
 			this.startingReloadables = true;
 
@@ -792,6 +808,8 @@ public abstract class SimplePlugin extends JavaPlugin implements Listener {
 
 			this.startingReloadables = false;
 
+			FoundationFilter.compile();
+
 			if (HookManager.isDiscordSRVLoaded()) {
 				DiscordListener.DiscordListenerImpl.getInstance().resubscribe();
 
@@ -828,7 +846,11 @@ public abstract class SimplePlugin extends JavaPlugin implements Listener {
 
 		BlockVisualizer.stopAll();
 		FolderWatcher.stopThreads();
+		SimpleAnimation.cancelAll();
+		Countdown.cancelAll();
+		EntityUtil.cancelTracking();
 
+		FileConfig.flushPendingSaves();
 		FileConfig.clearLoadedSections();
 
 		try {
@@ -39,7 +39,7 @@ public final class DiskRegion extends YamlConfig {
 	/**
 	 * All loaded disk regions
 	 */
-	private static final ConfigItems<DiskRegion> loadedRegions = ConfigItems.fromFolder("regions", DiskRegion.class);
+	private static final ConfigItems<DiskRegion> loadedRegions = ConfigItems.fromFolder("regions", DiskRegion.class).setParallelLoading(true);
 
 	/**
 	 * The way for us to get the created region for a player, which is typically used in PlayerCache
@@ -118,6 +118,16 @@ public final class DiskRegion extends YamlConfig {
 				this.set(entry.getKey(), entry.getValue());
 	}
 
+	/**
+	 * Regions are saved often while being edited, so we write them in the background
+	 *
+	 * @see org.mineacademy.fo.settings.FileConfig#getSaveDelayTicks()
+	 */
+	@Override
+	protected int getSaveDelayTicks() {
+		return 20;
+	}
+
 	/**
 	 * Return {@link Region#getPrimary()}
 	 *
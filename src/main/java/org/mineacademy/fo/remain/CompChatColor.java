@@ -62,6 +62,11 @@ public final class CompChatColor {
 			new Color(255, 255, 255),
 	};
 
+	/**
+	 * Closest legacy colors indexed by 5 bits per RGB channel, see {@link #getClosestLegacyColorFast(int)}
+	 */
+	private static volatile CompChatColor[] legacyLookup;
+
 	/**
 	 * Represents black.
 	 */
@@ -412,6 +417,52 @@ public final class CompChatColor {
 		return CompChatColor.of(color);
 	}
 
+	/**
+	 * Returns the closest legacy chat color from the given RGB color in constant time,
+	 * or null if the color is mostly transparent.
+	 * <p>
+	 * Colors are approximated from a 32x32x32 lookup table computed on first use
+	 * using {@link #getClosestLegacyColor(Color)} on MC before 1.16,
+	 * suitable for converting many pixels of an image.
+	 *
+	 * @param argb the color with alpha in the highest byte, see {@link Color#getRGB()}
+	 * @return
+	 */
+	public static CompChatColor getClosestLegacyColorFast(int argb) {
+		if ((argb >>> 24) < 128)
+			return null;
+
+		CompChatColor[] lookup = legacyLookup;
+
+		if (lookup == null) {
+			final List<CompChatColor> colors = getColors();
+			lookup = new CompChatColor[32 * 32 * 32];
+
+			for (int red = 0; red < 32; red++)
+				for (int green = 0; green < 32; green++)
+					for (int blue = 0; blue < 32; blue++) {
+						final Color color = new Color((red << 3) + 4, (green << 3) + 4, (blue << 3) + 4);
+						int index = 0;
+						double best = -1;
+
+						for (int i = 0; i < LEGACY_COLORS.length; i++) {
+							final double distance = areSimilar(LEGACY_COLORS[i], color) ? 0 : getDistance(color, LEGACY_COLORS[i]);
+
+							if (distance < best || best == -1) {
+								best = distance;
+								index = i;
+							}
+						}
+
+						lookup[red << 10 | green << 5 | blue] = colors.get(index);
+					}
+
+			legacyLookup = lookup;
+		}
+
+		return lookup[(argb >> 19 & 0x1F) << 10 | (argb >> 11 & 0x1F) << 5 | argb >> 3 & 0x1F];
+	}
+
 	/*
 	 * Return if colors are nearly identical
 	 */
@@ -421,6 +421,11 @@ public final class CompMetadata {
 			return !hasPersistentMetadata && ENABLE_LEGACY_FILE_STORAGE;
 		}
 
+		@Override
+		protected int getSaveDelayTicks() {
+			return 20;
+		}
+
 		@Override
 		public SerializedMap saveToMap() {
 			return SerializedMap.ofArray(
@@ -87,6 +87,7 @@ import org.mineacademy.fo.ReflectionUtil;
 import org.mineacademy.fo.ReflectionUtil.ReflectionException;
 import org.mineacademy.fo.TimeUtil;
 import org.mineacademy.fo.Valid;
+import org.mineacademy.fo.collection.LimitedCache;
 import org.mineacademy.fo.collection.SerializedMap;
 import org.mineacademy.fo.collection.StrictMap;
 import org.mineacademy.fo.constants.FoConstants;
@@ -101,6 +102,7 @@ import com.google.gson.Gson;
 import com.google.gson.JsonObject;
 
 import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 import net.md_5.bungee.api.ChatMessageType;
 import net.md_5.bungee.api.chat.BaseComponent;
 import net.md_5.bungee.api.chat.TextComponent;
@@ -283,6 +285,21 @@ public final class Remain {
 	@Getter
 	private static boolean enchantRegistryUnfrozen = false;
 
+	/**
+	 * Recently converted json to legacy text, null when disabled, see {@link #setConversionCacheSize(int)}
+	 */
+	private static volatile LimitedCache<String, LegacyText> legacyTextCache = null;
+
+	/**
+	 * Recently converted messages to json, null when disabled, see {@link #setConversionCacheSize(int)}
+	 */
+	private static volatile LimitedCache<String, String> messageJsonCache = null;
+
+	/**
+	 * Recently converted lists to json, null when disabled, see {@link #setConversionCacheSize(int)}
+	 */
+	private static volatile LimitedCache<List<String>, String> listJsonCache = null;
+
 	// Singleton
 	private Remain() {
 	}
@@ -875,28 +892,85 @@ public final class Remain {
 	 *                                       unpacked
 	 */
 	public static String toLegacyText(final String json, final boolean denyEvents) throws InteractiveTextFoundException {
+		final LimitedCache<String, LegacyText> cache = legacyTextCache;
+		final LegacyText legacyText = cache != null ? cache.get(json, Remain::parseLegacyText) : parseLegacyText(json);
+
+		if (legacyText.isInteractive() && denyEvents)
+			throw new InteractiveTextFoundException();
+
+		return legacyText.getText();
+	}
+
+	/*
+	 * Parse the json into legacy text, remembering if it had hover or click events
+	 */
+	private static LegacyText parseLegacyText(final String json) {
 		final StringBuilder text = new StringBuilder();
+		boolean interactive = false;
 
 		// Translate options does not want to work well with ChatControl
 		if (json.contains("\"translate\""))
-			return text.append("").toString();
+			return new LegacyText("", false);
 
 		try {
 			for (final BaseComponent comp : ComponentSerializer.parse(json)) {
-				if ((comp.getHoverEvent() != null || comp.getClickEvent() != null) && denyEvents)
-					throw new InteractiveTextFoundException();
+				if (comp.getHoverEvent() != null || comp.getClickEvent() != null)
+					interactive = true;
 
 				text.append(comp.toLegacyText());
 			}
 
 		} catch (final Throwable throwable) {
-
-			// Do not catch our own exception
-			if (throwable instanceof InteractiveTextFoundException)
-				throw throwable;
+			// Return what we have parsed so far
 		}
 
-		return text.toString();
+		return new LegacyText(text.toString(), interactive);
+	}
+
+	/**
+	 * Enable caching of {@link #toLegacyText(String, boolean)}, {@link #toJson(String)} and {@link #toJson(Collection)}
+	 * results, keeping up to the given amount of recently converted texts each. Use 0 to disable, which is the default.
+	 * <p>
+	 * Useful when the same messages are converted many times, such as when rewriting chat packets.
+	 *
+	 * @param size
+	 */
+	public static void setConversionCacheSize(final int size) {
+		Valid.checkBoolean(size >= 0, "Conversion cache size cannot be negative, got " + size);
+
+		legacyTextCache = size == 0 ? null : new LimitedCache<>(size);
+		messageJsonCache = size == 0 ? null : new LimitedCache<>(size);
+		listJsonCache = size == 0 ? null : new LimitedCache<>(size);
+	}
+
+	/**
+	 * Return how many conversions were served from the cache, see {@link #setConversionCacheSize(int)}
+	 *
+	 * @return
+	 */
+	public static long getConversionCacheHits() {
+		final LimitedCache<String, LegacyText> legacyTextCache = Remain.legacyTextCache;
+		final LimitedCache<String, String> messageJsonCache = Remain.messageJsonCache;
+		final LimitedCache<List<String>, String> listJsonCache = Remain.listJsonCache;
+
+		return (legacyTextCache == null ? 0 : legacyTextCache.getHits())
+				+ (messageJsonCache == null ? 0 : messageJsonCache.getHits())
+				+ (listJsonCache == null ? 0 : listJsonCache.getHits());
+	}
+
+	/**
+	 * Return how many conversions were not found in the cache and had to be computed, see {@link #setConversionCacheSize(int)}
+	 *
+	 * @return
+	 */
+	public static long getConversionCacheMisses() {
+		final LimitedCache<String, LegacyText> legacyTextCache = Remain.legacyTextCache;
+		final LimitedCache<String, String> messageJsonCache = Remain.messageJsonCache;
+		final LimitedCache<List<String>, String> listJsonCache = Remain.listJsonCache;
+
+		return (legacyTextCache == null ? 0 : legacyTextCache.getMisses())
+				+ (messageJsonCache == null ? 0 : messageJsonCache.getMisses())
+				+ (listJsonCache == null ? 0 : listJsonCache.getMisses());
 	}
 
 	/**
@@ -906,7 +980,22 @@ public final class Remain {
 	 * @return
 	 */
 	public static String toJson(final Collection<String> list) {
-		return gson.toJson(list);
+		final LimitedCache<List<String>, String> cache = listJsonCache;
+
+		if (cache == null)
+			return gson.toJson(list);
+
+		// Look up by the list itself and only copy it when caching, since the caller may change it later
+		final List<String> key = list instanceof List ? (List<String>) list : new ArrayList<>(list);
+		String json = cache.get(key);
+
+		if (json == null) {
+			json = gson.toJson(list);
+
+			cache.put(key == list ? new ArrayList<>(list) : key, json);
+		}
+
+		return json;
 	}
 
 	/**
@@ -926,7 +1015,9 @@ public final class Remain {
 	 * @return
 	 */
 	public static String toJson(final String message) {
-		return toJson(TextComponent.fromLegacyText(message));
+		final LimitedCache<String, String> cache = messageJsonCache;
+
+		return cache != null ? cache.get(message, key -> toJson(TextComponent.fromLegacyText(message))) : toJson(TextComponent.fromLegacyText(message));
 	}
 
 	/**
@@ -3301,6 +3392,24 @@ public final class Remain {
 		private InteractiveTextFoundException() {
 		}
 	}
+
+	/*
+	 * A json message converted to legacy text
+	 */
+	@Getter
+	@RequiredArgsConstructor
+	private static final class LegacyText {
+
+		/**
+		 * The legacy text
+		 */
+		private final String text;
+
+		/**
+		 * Did the message have hover or click events?
+		 */
+		private final boolean interactive;
+	}
 }
 
 /**
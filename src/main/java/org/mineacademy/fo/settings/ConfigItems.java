@@ -19,6 +19,7 @@ import org.mineacademy.fo.Common;
 import org.mineacademy.fo.FileUtil;
 import org.mineacademy.fo.Valid;
 import org.mineacademy.fo.collection.StrictMap;
+import org.mineacademy.fo.debug.Debugger;
 
 import lombok.NonNull;
 
@@ -67,6 +68,11 @@ public final class ConfigItems<T extends YamlConfig> {
 	 */
 	private final boolean singleFile;
 
+	/**
+	 * Should we read and parse files on multiple threads before creating items?
+	 */
+	private boolean parallelLoading = false;
+
 	/**
 	 * Create a new config items instance
 	 *
@@ -132,6 +138,20 @@ public final class ConfigItems<T extends YamlConfig> {
 		return new ConfigItems<>(path, file, prototypeCreator, true);
 	}
 
+	/**
+	 * Set if we should read and parse all files in the folder on multiple threads first,
+	 * items are then still created and loaded on the main thread in file order.
+	 * Useful for folders with many files. We log how long the loading took.
+	 *
+	 * @param parallelLoading
+	 * @return
+	 */
+	public ConfigItems<T> setParallelLoading(boolean parallelLoading) {
+		this.parallelLoading = parallelLoading;
+
+		return this;
+	}
+
 	/**
 	 * Load all item classes by creating a new instance of them and copying their folder from JAR to disk
 	 */
@@ -162,17 +182,33 @@ public final class ConfigItems<T extends YamlConfig> {
 				FileUtil.extractFolderFromJar(this.folder + "/", this.folder);
 
 			// Load items on our disk
+			final long startNanos = System.nanoTime();
 			final File[] files = FileUtil.getFiles(this.folder, "yml");
 
-			for (final File file : files)
-				if (loader != null)
-					loader.apply(file);
+			if (this.parallelLoading)
+				YamlConfig.preparse(files);
 
-				else {
-					final String name = FileUtil.getFileName(file);
+			final long parsedNanos = System.nanoTime();
 
-					this.loadOrCreateItem(name);
-				}
+			try {
+				for (final File file : files)
+					if (loader != null)
+						loader.apply(file);
+
+					else {
+						final String name = FileUtil.getFileName(file);
+
+						this.loadOrCreateItem(name);
+					}
+
+			} finally {
+				if (this.parallelLoading)
+					YamlConfig.clearPreparsed();
+			}
+
+			if (this.parallelLoading && files.length > 0)
+				Debugger.debug("config-items", "Loaded " + Common.plural(files.length, "file") + " from " + this.folder + "/ in " + (System.nanoTime() - startNanos) / 1_000_000
+						+ " ms (" + (parsedNanos - startNanos) / 1_000_000 + " ms parsing in parallel)");
 		}
 	}
 
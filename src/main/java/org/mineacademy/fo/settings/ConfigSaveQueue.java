@@ -0,0 +1,266 @@
+package org.mineacademy.fo.settings;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.mineacademy.fo.Common;
+import org.mineacademy.fo.model.AsyncExecutor;
+import org.mineacademy.fo.plugin.SimplePlugin;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Writes configuration files safely and, for configurations with a save delay,
+ * in the background, see {@link FileConfig#getSaveDelayTicks()}.
+ * <p>
+ * Files are written to a temporary file first which is then moved over the original,
+ * so a crash while writing never leaves a half written file behind. Delayed saves of
+ * the same file are merged into one, serialized on the main thread and written off it.
+ */
+final class ConfigSaveQueue {
+
+	/**
+	 * Configurations waiting to be serialized, by file path
+	 */
+	private static final Map<String, PendingSave> pendingSaves = new LinkedHashMap<>();
+
+	/**
+	 * Serialized content waiting to be written, by file path
+	 */
+	private static final Map<String, PendingWrite> pendingWrites = new ConcurrentHashMap<>();
+
+	/**
+	 * Locks preventing two threads from writing the same file at once, by file path,
+	 * removed once nothing is waiting to be written to the file
+	 */
+	private static final Map<String, ReentrantLock> fileLocks = new ConcurrentHashMap<>();
+
+	/*
+	 * Save the configuration to the file after the given delay, merging with saves already waiting
+	 */
+	static void schedule(FileConfig config, File file, int delayTicks) {
+		final String path = file.getAbsolutePath();
+		final boolean scheduled;
+
+		synchronized (pendingSaves) {
+			scheduled = pendingSaves.containsKey(path);
+
+			pendingSaves.put(path, new PendingSave(config, file));
+		}
+
+		if (!scheduled)
+			Common.runLater(delayTicks, () -> flushSave(path));
+	}
+
+	/*
+	 * Write the serialized content off the main thread, merging with writes already waiting
+	 */
+	static void writeAsync(File file, String data) {
+		final String path = file.getAbsolutePath();
+
+		// Unless a write for this file is already waiting, it will pick up our content
+		if (pendingWrites.put(path, new PendingWrite(file, data)) == null)
+			AsyncExecutor.execute(() -> drain(path));
+	}
+
+	/*
+	 * Write the serialized content now, replacing content waiting to be written
+	 */
+	static void write(File file, String data) throws IOException {
+		final String path = file.getAbsolutePath();
+
+		final ReentrantLock lock = lock(path);
+
+		try {
+			pendingWrites.remove(path);
+
+			writeAtomically(file, data);
+
+		} finally {
+			unlock(path, lock);
+		}
+	}
+
+	/*
+	 * Forget saves and writes waiting for the file and delete it
+	 */
+	static void delete(File file) {
+		final String path = file.getAbsolutePath();
+
+		synchronized (pendingSaves) {
+			pendingSaves.remove(path);
+		}
+
+		final ReentrantLock lock = lock(path);
+
+		try {
+			pendingWrites.remove(path);
+
+			if (file.exists())
+				file.delete();
+
+		} finally {
+			unlock(path, lock);
+		}
+	}
+
+	/*
+	 * Serialize and write all waiting saves right now on this thread
+	 */
+	static void flushAll() {
+		final List<PendingSave> saves;
+
+		synchronized (pendingSaves) {
+			saves = new ArrayList<>(pendingSaves.values());
+
+			pendingSaves.clear();
+		}
+
+		for (final PendingSave save : saves)
+			try {
+				save.config.saveImmediately(save.file, false);
+
+			} catch (final Throwable t) {
+				Common.error(t, "Failed to save " + save.file);
+			}
+
+		for (final String path : new ArrayList<>(pendingWrites.keySet()))
+			drain(path);
+	}
+
+	/*
+	 * Serialize the waiting save for the given file and write it in the background
+	 */
+	private static void flushSave(String path) {
+		final PendingSave save;
+
+		synchronized (pendingSaves) {
+			save = pendingSaves.remove(path);
+		}
+
+		// Already flushed or deleted
+		if (save == null)
+			return;
+
+		try {
+			save.config.saveImmediately(save.file, SimplePlugin.getInstance().isEnabled());
+
+		} catch (final Throwable t) {
+			Common.error(t, "Failed to save " + save.file);
+		}
+	}
+
+	/*
+	 * Write the newest content for the file until nothing new is waiting
+	 */
+	private static void drain(String path) {
+		PendingWrite write;
+
+		while ((write = pendingWrites.get(path)) != null) {
+			final ReentrantLock lock = lock(path);
+
+			try {
+
+				// Written or deleted while we were waiting for the lock
+				if (pendingWrites.get(path) != write)
+					continue;
+
+				try {
+					writeAtomically(write.file, write.data);
+
+				} catch (final Throwable t) {
+					Common.error(t, "Failed to write " + write.file);
+				}
+
+				if (pendingWrites.remove(path, write))
+					return;
+
+			} finally {
+				unlock(path, lock);
+			}
+		}
+	}
+
+	/*
+	 * Write the content to a temporary file, flush it to the disk and move it over the original
+	 */
+	private static void writeAtomically(File file, String data) throws IOException {
+		final File parent = file.getCanonicalFile().getParentFile();
+
+		if (parent != null)
+			parent.mkdirs();
+
+		final File tempFile = new File(parent, file.getName() + ".tmp");
+
+		try (FileOutputStream stream = new FileOutputStream(tempFile); Writer writer = new OutputStreamWriter(stream, StandardCharsets.UTF_8)) {
+			writer.write(data);
+			writer.flush();
+
+			stream.getFD().sync();
+		}
+
+		try {
+			Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+		} catch (final AtomicMoveNotSupportedException ex) {
+			Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	/*
+	 * Acquire the lock for writing the given file, retrying if it was removed while we waited for it
+	 */
+	private static ReentrantLock lock(String path) {
+		while (true) {
+			final ReentrantLock lock = fileLocks.computeIfAbsent(path, key -> new ReentrantLock());
+
+			lock.lock();
+
+			if (fileLocks.get(path) == lock)
+				return lock;
+
+			lock.unlock();
+		}
+	}
+
+	/*
+	 * Release the lock for writing the given file, removing it if nothing else is waiting to be written
+	 */
+	private static void unlock(String path, ReentrantLock lock) {
+		if (!pendingWrites.containsKey(path))
+			fileLocks.remove(path, lock);
+
+		lock.unlock();
+	}
+
+	/*
+	 * A configuration waiting to be serialized
+	 */
+	@RequiredArgsConstructor
+	private static final class PendingSave {
+		private final FileConfig config;
+		private final File file;
+	}
+
+	/*
+	 * Serialized content waiting to be written
+	 */
+	@RequiredArgsConstructor
+	private static final class PendingWrite {
+		private final File file;
+		private final String data;
+	}
+}
@@ -3,11 +3,9 @@ package org.mineacademy.fo.settings;
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileOutputStream;
+import java.io.IOException;
 import java.io.InputStreamReader;
-import java.io.OutputStreamWriter;
 import java.io.Reader;
-import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -1187,7 +1185,6 @@ public abstract class FileConfig {
 			Valid.checkBoolean(!this.loading, "Called load(" + file + ") on already being loaded configuration!");
 			this.loading = true;
 
-			final FileInputStream stream = new FileInputStream(file);
 			final String path = file.getAbsolutePath();
 			boolean loadedBefore = false;
 			ConfigSection section = loadedSections.get(path);
@@ -1206,8 +1203,8 @@ public abstract class FileConfig {
 
 			if (loadedBefore && !this.alwaysLoad) {
 				// Do not load
-			} else
-				this.load(new InputStreamReader(stream, StandardCharsets.UTF_8));
+			} else if (!this.loadPreparsed(file))
+				this.load(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8));
 
 			try {
 				this.onLoad();
@@ -1237,26 +1234,41 @@ public abstract class FileConfig {
 	 */
 	private final void load(@NonNull Reader reader) {
 		try {
-			final BufferedReader input = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
-			final StringBuilder builder = new StringBuilder();
+			this.loadFromString(readContents(reader));
 
-			try {
-				String line;
+		} catch (final Exception ex) {
+			Remain.sneaky(ex);
+		}
+	}
 
-				while ((line = input.readLine()) != null) {
-					builder.append(line);
-					builder.append('\n');
-				}
+	/*
+	 * Read all lines from the reader and close it
+	 */
+	static String readContents(@NonNull Reader reader) throws IOException {
+		final BufferedReader input = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+		final StringBuilder builder = new StringBuilder();
 
-			} finally {
-				input.close();
-			}
+		try {
+			String line;
 
-			this.loadFromString(builder.toString());
+			while ((line = input.readLine()) != null) {
+				builder.append(line);
+				builder.append('\n');
+			}
 
-		} catch (final Exception ex) {
-			Remain.sneaky(ex);
+		} finally {
+			input.close();
 		}
+
+		return builder.toString();
+	}
+
+	/*
+	 * Load the content parsed ahead of time off the main thread, returning false
+	 * if there is none for the file and it needs to be read normally
+	 */
+	boolean loadPreparsed(@NonNull File file) {
+		return false;
 	}
 
 	/**
@@ -1285,7 +1297,9 @@ public abstract class FileConfig {
 	}
 
 	/**
-	 * Save the configuration to the file immediately (you need to call loadConfiguration(File) first)
+	 * Save the configuration to its file (you need to call loadConfiguration(File) first).
+	 * <p>
+	 * If {@link #getSaveDelayTicks()} is above 0, the file is written later off the main thread.
 	 */
 	public final void save() {
 		if (this.file == null && this.skipSaveIfNoFile())
@@ -1298,6 +1312,8 @@ public abstract class FileConfig {
 
 	/**
 	 * Saves the configuration to the given file, updating the file stored in this configuration.
+	 * <p>
+	 * If {@link #getSaveDelayTicks()} is above 0, the file is written later off the main thread.
 	 *
 	 * @param file
 	 */
@@ -1305,13 +1321,28 @@ public abstract class FileConfig {
 		if (this.saving)
 			return;
 
-		try {
-			if (this.loading) {
-				this.shouldSave = true;
+		if (this.loading) {
+			this.shouldSave = true;
 
-				return;
-			}
+			return;
+		}
 
+		final int delayTicks = this.getSaveDelayTicks();
+
+		if (delayTicks > 0 && SimplePlugin.getInstance().isEnabled()) {
+			ConfigSaveQueue.schedule(this, file, delayTicks);
+
+			return;
+		}
+
+		this.saveImmediately(file, false);
+	}
+
+	/*
+	 * Serialize the configuration now and write it either now or off the main thread
+	 */
+	final void saveImmediately(File file, boolean async) {
+		try {
 			this.onPreSave();
 
 			if (this.canSaveFile()) {
@@ -1327,20 +1358,13 @@ public abstract class FileConfig {
 					this.saving = false;
 				}
 
-				final File parent = file.getCanonicalFile().getParentFile();
-
-				if (parent != null)
-					parent.mkdirs();
-
 				final String data = this.saveToString();
 
 				if (data != null)
-					try (Writer writer = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)) {
-						writer.write(data);
-
-					} catch (final Exception ex) {
-						Remain.sneaky(ex);
-					}
+					if (async)
+						ConfigSaveQueue.writeAsync(file, data);
+					else
+						ConfigSaveQueue.write(file, data);
 
 				// Update file
 				this.file = file;
@@ -1360,6 +1384,19 @@ public abstract class FileConfig {
 		return false;
 	}
 
+	/**
+	 * Return how many ticks to wait before writing the file when {@link #save()} is called.
+	 * All saves within this time are merged into one, serialized on the main thread
+	 * and written off it. Pending saves are written when the plugin is reloaded or disabled.
+	 * <p>
+	 * Returns 0 by default to write the file immediately on the calling thread.
+	 *
+	 * @return
+	 */
+	protected int getSaveDelayTicks() {
+		return 0;
+	}
+
 	/**
 	 * Called automatically before {@link #canSaveFile()}
 	 */
@@ -1440,8 +1477,7 @@ public abstract class FileConfig {
 	public final void deleteFile() {
 		Valid.checkNotNull(this.file, "Cannot unregister null file before settings were loaded!");
 
-		if (this.file.exists())
-			this.file.delete();
+		ConfigSaveQueue.delete(this.file);
 
 		loadedSections.remove(this.file.getAbsolutePath());
 	}
@@ -1584,6 +1620,16 @@ public abstract class FileConfig {
 		loadedSections.clear();
 	}
 
+	/**
+	 * Write all configurations waiting to be saved right now, see {@link #getSaveDelayTicks()}
+	 *
+	 * @deprecated internal use only, called when the plugin is reloaded or disabled
+	 */
+	@Deprecated
+	public static final void flushPendingSaves() {
+		ConfigSaveQueue.flushAll();
+	}
+
 	// ------------------------------------------------------------------------------------
 	// Classes
 	// ------------------------------------------------------------------------------------
@@ -1,7 +1,10 @@
 package org.mineacademy.fo.settings;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.mineacademy.fo.Common;
 import org.mineacademy.fo.Messenger;
@@ -13,6 +16,9 @@ import org.mineacademy.fo.exception.FoScriptException;
 import org.mineacademy.fo.model.JavaScriptExecutor;
 import org.mineacademy.fo.model.SimpleComponent;
 
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+
 /**
  * Represents the new way of internalization, with the greatest
  * upside of saving development time.
@@ -27,6 +33,12 @@ public final class Lang extends YamlConfig {
 	 */
 	private static Lang instance;
 
+	/**
+	 * Localization keys compiled into formats with prefixes resolved,
+	 * cleared when the file or prefixes are reloaded
+	 */
+	private static final Map<String, Format> formats = new ConcurrentHashMap<>();
+
 	/*
 	 * Create a new instance and load the given file
 	 */
@@ -66,6 +78,7 @@ public final class Lang extends YamlConfig {
 	 */
 	public static void init(String filePath) {
 		instance = new Lang(filePath);
+		formats.clear();
 
 		loadPrefixes();
 	}
@@ -81,6 +94,8 @@ public final class Lang extends YamlConfig {
 			instance.reload();
 			instance.save();
 		}
+
+		formats.clear();
 	}
 
 	/**
@@ -111,6 +126,9 @@ public final class Lang extends YamlConfig {
 
 			instance.save();
 		}
+
+		// Prefixes are resolved in compiled formats
+		formats.clear();
 	}
 
 	// ------------------------------------------------------------------------------------------------------------
@@ -248,6 +266,10 @@ public final class Lang extends YamlConfig {
 
 	/**
 	 * Return a key from the localization file with {0} {1} etc. variables replaced.
+	 * <p>
+	 * Keys are compiled once with prefixes resolved and cached until {@link #reloadLang()}.
+	 * If you change {@link Messenger} prefixes manually, call {@link #loadPrefixes()} or
+	 * {@link #reloadLang()} afterwards so that the new prefixes are picked up.
 	 *
 	 * @param path
 	 * @param variables
@@ -256,31 +278,116 @@ public final class Lang extends YamlConfig {
 	public static String of(String path, Object... variables) {
 		checkInit();
 
-		String key = instance.getStringStrict(path);
+		Format format = formats.get(path);
 
-		key = Messenger.replacePrefixes(key);
-		key = translate(key, variables);
+		if (format == null) {
+			format = Format.compile(Messenger.replacePrefixes(instance.getStringStrict(path)));
 
-		return key;
+			formats.put(path, format);
+		}
+
+		return format.format(variables);
 	}
 
-	/*
-	 * Replace placeholders in the message
+	/**
+	 * Represents a localization key split into text and {0} {1} etc. argument positions
 	 */
-	private static String translate(String key, Object... variables) {
-		Valid.checkNotNull(key, "Cannot translate a null key with variables " + Common.join(variables));
+	@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+	private static final class Format {
+
+		/**
+		 * The text between arguments, always one more than arguments
+		 */
+		private final String[] texts;
+
+		/**
+		 * The argument indexes in the order they appear
+		 */
+		private final int[] arguments;
+
+		/**
+		 * The compiled message length without arguments, used to presize the buffer
+		 */
+		private final int length;
+
+		/*
+		 * Fill in the given variables, leaving positions without a variable as they are
+		 */
+		String format(Object... variables) {
+			if (this.arguments.length == 0)
+				return this.texts[0];
+
+			final StringBuilder builder = new StringBuilder(this.length + this.arguments.length * 16);
+			builder.append(this.texts[0]);
+
+			for (int i = 0; i < this.arguments.length; i++) {
+				final int index = this.arguments[i];
+
+				if (variables != null && index < variables.length)
+					builder.append(render(index, variables[index]));
+				else
+					builder.append('{').append(index).append('}');
+
+				builder.append(this.texts[i + 1]);
+			}
+
+			return builder.toString();
+		}
+
+		/*
+		 * Convert the variable to string, skipping the serializer for common types
+		 */
+		private static String render(int index, Object variable) {
+			if (variable instanceof String)
+				return (String) variable;
 
-		if (variables != null)
-			for (int i = 0; i < variables.length; i++) {
-				Object variable = variables[i];
+			if (variable instanceof Number || variable instanceof Boolean || variable instanceof Character)
+				return variable.toString();
 
-				variable = Common.getOrDefaultStrict(SerializeUtil.serialize(Mode.YAML /* ĺocale is always .yml */, variable), SimpleLocalization.NONE);
-				Valid.checkNotNull(variable, "Failed to replace {" + i + "} as " + variable + " (raw = " + variables[i] + ")");
+			final Object serialized = Common.getOrDefaultStrict(SerializeUtil.serialize(Mode.YAML /* ĺocale is always .yml */, variable), SimpleLocalization.NONE);
+			Valid.checkNotNull(serialized, "Failed to replace {" + index + "} as " + serialized + " (raw = " + variable + ")");
 
-				key = key.replace("{" + i + "}", variable.toString());
+			return serialized.toString();
+		}
+
+		/*
+		 * Find all {0} {1} etc. positions in the message
+		 */
+		static Format compile(String message) {
+			Valid.checkNotNull(message, "Cannot compile a null localization key");
+
+			final List<String> texts = new ArrayList<>();
+			final List<Integer> arguments = new ArrayList<>();
+			int last = 0;
+
+			for (int i = 0; i < message.length(); i++) {
+				if (message.charAt(i) != '{')
+					continue;
+
+				int end = i + 1;
+
+				while (end < message.length() && message.charAt(end) >= '0' && message.charAt(end) <= '9' && end - i < 10)
+					end++;
+
+				if (end == i + 1 || end >= message.length() || message.charAt(end) != '}')
+					continue;
+
+				texts.add(message.substring(last, i));
+				arguments.add(Integer.parseInt(message.substring(i + 1, end)));
+
+				last = end + 1;
+				i = end;
 			}
 
-		return key;
+			texts.add(message.substring(last));
+
+			final int[] argumentArray = new int[arguments.size()];
+
+			for (int i = 0; i < argumentArray.length; i++)
+				argumentArray[i] = arguments.get(i);
+
+			return new Format(texts.toArray(new String[texts.size()]), argumentArray, message.length());
+		}
 	}
 
 	/*
@@ -1,12 +1,18 @@
 package org.mineacademy.fo.settings;
 
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.logging.Level;
 
 import javax.annotation.Nullable;
@@ -16,6 +22,7 @@ import org.bukkit.configuration.serialization.ConfigurationSerializable;
 import org.bukkit.configuration.serialization.ConfigurationSerialization;
 import org.mineacademy.fo.FileUtil;
 import org.mineacademy.fo.ReflectionUtil;
+import org.mineacademy.fo.model.AsyncExecutor;
 import org.yaml.snakeyaml.DumperOptions;
 import org.yaml.snakeyaml.LoaderOptions;
 import org.yaml.snakeyaml.Yaml;
@@ -26,6 +33,7 @@ import org.yaml.snakeyaml.nodes.Tag;
 import org.yaml.snakeyaml.representer.Representer;
 
 import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
 
 /**
  * The core settings class. Fully compatible with Minecraft 1.7.10 to the
@@ -34,6 +42,11 @@ import lombok.NonNull;
  */
 public class YamlConfig extends FileConfig {
 
+	/**
+	 * Files read and parsed ahead of time off the main thread, by path, see {@link #preparse(File[])}
+	 */
+	private static final Map<String, ParsedFile> preparsedFiles = new ConcurrentHashMap<>();
+
 	/**
 	 * The Yaml instance
 	 */
@@ -48,6 +61,16 @@ public class YamlConfig extends FileConfig {
 	 * Create a new instance (do not load it, use {@link #load(File)} to load)
 	 */
 	protected YamlConfig() {
+		this.yaml = createYaml(true);
+	}
+
+	/*
+	 * Create a new Yaml instance, they are not thread safe so each thread needs its own.
+	 *
+	 * Serialized objects can only be deserialized on the main thread, when deserializeObjects
+	 * is false they are left as raw maps, see {@link #deserializeObjects(Object)}
+	 */
+	private static Yaml createYaml(boolean deserializeObjects) {
 		final DumperOptions dumperOptions = new DumperOptions();
 		dumperOptions.setDefaultFlowStyle(DumperOptions.FlowStyle.BLOCK);
 		dumperOptions.setIndent(2);
@@ -72,11 +95,11 @@ public class YamlConfig extends FileConfig {
 			YamlConstructor constructor;
 
 			try {
-				constructor = new YamlConstructor(loaderOptions);
+				constructor = new YamlConstructor(loaderOptions, deserializeObjects);
 
 			} catch (final Throwable t) {
 				// 1.12
-				constructor = new YamlConstructor();
+				constructor = new YamlConstructor(deserializeObjects);
 			}
 
 			try {
@@ -94,11 +117,10 @@ public class YamlConfig extends FileConfig {
 				yaml = new Yaml(constructor, representer, dumperOptions);
 			}
 
-			this.yaml = yaml;
+			return yaml;
 		}
 
-		else
-			this.yaml = new Yaml(new YamlConstructor(), representer, dumperOptions);
+		return new Yaml(new YamlConstructor(deserializeObjects), representer, dumperOptions);
 	}
 
 	/**
@@ -287,21 +309,69 @@ public class YamlConfig extends FileConfig {
 	 */
 	@Override
 	final void loadFromString(@NonNull String contents) {
+		this.loadFromParsed(parse(this.yaml, contents), parseHeader(contents));
+	}
 
-		Map<?, ?> input;
+	/*
+	 * Loads the content parsed ahead of time, if the file did not change since
+	 */
+	@Override
+	final boolean loadPreparsed(@NonNull File file) {
+		final ParsedFile parsed = preparsedFiles.remove(file.getAbsolutePath());
 
-		try {
-			input = (Map<?, ?>) this.yaml.load(contents);
+		if (parsed == null || parsed.lastModified != file.lastModified() || parsed.length != file.length())
+			return false;
 
-		} catch (final YAMLException ex) {
-			throw ex;
+		this.loadFromParsed((Map<?, ?>) deserializeObjects(parsed.input), parsed.header);
+		return true;
+	}
 
-		} catch (final ClassCastException e) {
-			throw new IllegalArgumentException("Top level is not a Map.");
+	/*
+	 * Deserialize maps with the serialized type key parsed off the main thread, including
+	 * those nested in maps and lists, the same way {@link YamlConstructor} does when parsing
+	 */
+	private static Object deserializeObjects(@Nullable Object value) {
+		if (value instanceof Map) {
+			final Map<?, ?> raw = (Map<?, ?>) value;
+			final Map<Object, Object> converted = new LinkedHashMap<>(raw.size());
+
+			for (final Map.Entry<?, ?> entry : raw.entrySet())
+				converted.put(entry.getKey(), deserializeObjects(entry.getValue()));
+
+			if (converted.containsKey(ConfigurationSerialization.SERIALIZED_TYPE_KEY)) {
+				final Map<String, Object> typed = new LinkedHashMap<>(converted.size());
+
+				for (final Map.Entry<?, ?> entry : converted.entrySet())
+					typed.put(entry.getKey().toString(), entry.getValue());
+
+				try {
+					return ConfigurationSerialization.deserializeObject(typed);
+
+				} catch (final IllegalArgumentException ex) {
+					throw new YAMLException("Could not deserialize object", ex);
+				}
+			}
+
+			return converted;
 		}
 
-		final String header = this.parseHeader(contents);
+		if (value instanceof List) {
+			final List<?> raw = (List<?>) value;
+			final List<Object> converted = new ArrayList<>(raw.size());
+
+			for (final Object element : raw)
+				converted.add(deserializeObjects(element));
 
+			return converted;
+		}
+
+		return value;
+	}
+
+	/*
+	 * Replaces our content with the given parsed map and header
+	 */
+	private void loadFromParsed(@Nullable Map<?, ?> input, @NonNull String header) {
 		if (header.trim().length() > 0)
 			this.setHeader(header);
 
@@ -311,6 +381,21 @@ public class YamlConfig extends FileConfig {
 			this.convertMapsToSections(input, this.section);
 	}
 
+	/*
+	 * Parses the given string contents to a map, or null if empty
+	 */
+	private static Map<?, ?> parse(Yaml yaml, @NonNull String contents) {
+		try {
+			return (Map<?, ?>) yaml.load(contents);
+
+		} catch (final YAMLException ex) {
+			throw ex;
+
+		} catch (final ClassCastException e) {
+			throw new IllegalArgumentException("Top level is not a Map.");
+		}
+	}
+
 	/*
 	 * Converts the given maps to sections
 	 */
@@ -330,7 +415,7 @@ public class YamlConfig extends FileConfig {
 	 * Converts the given input to header
 	 */
 	@NonNull
-	private String parseHeader(@NonNull String input) {
+	private static String parseHeader(@NonNull String input) {
 		final String commentPrefix = "# ";
 		final String[] lines = input.split("\r?\n", -1);
 		final StringBuilder result = new StringBuilder();
@@ -419,6 +504,60 @@ public class YamlConfig extends FileConfig {
 		return config;
 	}
 
+	/*
+	 * Read and parse the given files on our async executor so that loading them later
+	 * on the main thread only needs to create sections, waiting until all are parsed.
+	 *
+	 * Serialized objects are left as raw maps and deserialized on the main thread when loading.
+	 */
+	static void preparse(File[] files) {
+		final int threads = Math.min(files.length, Runtime.getRuntime().availableProcessors());
+		final List<Future<?>> futures = new ArrayList<>();
+
+		for (int thread = 0; thread < threads; thread++) {
+			final int offset = thread;
+
+			futures.add(AsyncExecutor.execute(() -> {
+				final Yaml yaml = createYaml(false);
+
+				for (int i = offset; i < files.length; i += threads) {
+					final File file = files[i];
+
+					try {
+						final long lastModified = file.lastModified();
+						final long length = file.length();
+						final String contents = readContents(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8));
+
+						preparsedFiles.put(file.getAbsolutePath(), new ParsedFile(lastModified, length, parse(yaml, contents), parseHeader(contents)));
+
+					} catch (final Throwable t) {
+						// Read again on the main thread which reports the error
+					}
+				}
+			}));
+		}
+
+		for (final Future<?> future : futures)
+			try {
+				future.get();
+
+			} catch (final InterruptedException ex) {
+				Thread.currentThread().interrupt();
+
+				return;
+
+			} catch (final ExecutionException ex) {
+				// Files we could not parse are read on the main thread
+			}
+	}
+
+	/*
+	 * Forget files parsed ahead of time that were not loaded
+	 */
+	static void clearPreparsed() {
+		preparsedFiles.clear();
+	}
+
 	/**
 	 * Loads configuration from the file in your plugin's folder.
 	 *
@@ -464,21 +603,34 @@ public class YamlConfig extends FileConfig {
 	// Classes
 	// -----------------------------------------------------------------------------------------------------
 
+	/*
+	 * A file read and parsed ahead of time, with its modification time and length to detect changes
+	 */
+	@RequiredArgsConstructor
+	private static final class ParsedFile {
+		private final long lastModified;
+		private final long length;
+		private final Map<?, ?> input;
+		private final String header;
+	}
+
 	/**
 	 * Helper class, credits to the original Bukkit/Spigot team, enhanced by MineAcademy
 	 */
 	private final static class YamlConstructor extends SafeConstructor {
 
-		public YamlConstructor(LoaderOptions options) {
+		public YamlConstructor(LoaderOptions options, boolean deserializeObjects) {
 			super(options);
 
-			this.yamlConstructors.put(Tag.MAP, new ConstructCustomObject());
+			if (deserializeObjects)
+				this.yamlConstructors.put(Tag.MAP, new ConstructCustomObject());
 		}
 
-		public YamlConstructor() {
+		public YamlConstructor(boolean deserializeObjects) {
 			super();
 
-			this.yamlConstructors.put(Tag.MAP, new ConstructCustomObject());
+			if (deserializeObjects)
+				this.yamlConstructors.put(Tag.MAP, new ConstructCustomObject());
 		}
 
 		private class ConstructCustomObject extends ConstructYamlMap {